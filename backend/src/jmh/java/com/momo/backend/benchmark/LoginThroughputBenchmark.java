@@ -0,0 +1,60 @@
+package com.momo.backend.benchmark;
+
+import com.momo.backend.config.SecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins pro Sekunde je BCrypt-Kostenfaktor.
+ * <p>
+ * Laeuft ueber denselben DaoAuthenticationProvider und Encoder wie die App, nur ohne DB.
+ * Ergebnis (ops/s) = Logins pro Sekunde und Thread; mit {@code -t <n>} parallel messen:
+ * <pre>mvn -Pbenchmark test-compile exec:exec -Djmh.args="-f 1 -t 4 LoginThroughput"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoginThroughputBenchmark {
+
+    private static final String EMAIL = "bench@mail.com";
+    private static final String PASSWORD = "pass123";
+
+    @Param({"8", "10", "12"})
+    private int cost;
+
+    private DaoAuthenticationProvider provider;
+    private UsernamePasswordAuthenticationToken credentials;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = SecurityConfig.createPasswordEncoder(cost);
+        UserDetails user = User.withUsername(EMAIL)
+                .password(encoder.encode(PASSWORD))
+                .authorities("EMPLOYEE")
+                .build();
+
+        provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(email -> user);
+        credentials = new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(credentials);
+    }
+}
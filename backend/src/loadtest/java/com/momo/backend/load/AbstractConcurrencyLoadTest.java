@@ -0,0 +1,157 @@
+package com.momo.backend.load;
+
+import com.momo.backend.repository.UserRepository;
+import com.momo.backend.service.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gemeinsamer Ablauf fuer die Lasttests: {@code load.concurrency} Clients schicken fuer
+ * {@code load.duration-seconds} Sekunden nacheinander Requests an einen typischen Endpoint
+ * (JWT-Filter, DB-Zugriff, danach {@code load.io-ms} blockierende I/O wie ein Broker-Send).
+ * <p>
+ * Die Unterklassen unterscheiden sich nur im Thread-Modus von Tomcat und STOMP-Kanaelen;
+ * das Ergebnis (Requests/s, p50/p99) steht im Test-Log:
+ * <pre>mvn -Ploadtest test -Dload.concurrency=10000 -Dload.duration-seconds=30</pre>
+ */
+abstract class AbstractConcurrencyLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractConcurrencyLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 5000);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 15);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    abstract String mode();
+
+    @Test
+    void testThroughputUnderConcurrentConnections() throws Exception {
+        String token = jwtTokenProvider.generateToken("load@test.de",
+                Map.of("uid", UUID.randomUUID().toString(), "role", "EMPLOYEE"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/loadtest/io"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        // Clients auf virtuellen Threads, damit der Lastgenerator selbst nicht der Engpass ist
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clients)
+                    .build();
+            long start = System.nanoTime();
+            long end = start + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+
+            List<Future<long[]>> results = new ArrayList<>(CONCURRENCY);
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(clients.submit(() -> runClient(http, request, end)));
+            }
+
+            List<Long> latencies = new ArrayList<>();
+            int errors = 0;
+            for (Future<long[]> result : results) {
+                long[] client = result.get();
+                errors += (int) client[0];
+                for (int i = 1; i < client.length; i++) {
+                    latencies.add(client[i]);
+                }
+            }
+            report(latencies, errors, Duration.ofNanos(System.nanoTime() - start));
+            assertEquals(0, errors, "failed requests");
+            assertFalse(latencies.isEmpty());
+        }
+    }
+
+    // [0] = Fehler, danach die Latenzen in Nanosekunden
+    private long[] runClient(HttpClient http, HttpRequest request, long end) {
+        long[] samples = new long[64];
+        int count = 1;
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    samples[0]++;
+                    continue;
+                }
+            } catch (Exception ex) {
+                samples[0]++;
+                continue;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    // Laufzeit inkl. der Requests, die bei Ablauf der Messdauer noch unterwegs waren
+    private void report(List<Long> latencies, int errors, Duration elapsed) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = elapsed.toMillis() / 1000.0;
+        log.info("{}: {} Clients, {} Requests in {}s = {} req/s, p50={}ms, p99={}ms, Fehler={}",
+                mode(), CONCURRENCY, sorted.length, String.format("%.1f", seconds),
+                Math.round(sorted.length / seconds), percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]).toMillis();
+    }
+
+    /**
+     * Endpoint mit dem Profil eines echten Requests: authentifiziert, ein JDBC-Zugriff ueber den
+     * Hikari-Pool, danach blockierende I/O ausserhalb der Transaktion.
+     */
+    @TestConfiguration
+    @RestController
+    static class LoadTestEndpoint {
+
+        private static final long IO_MILLIS = Long.getLong("load.io-ms", 50);
+
+        private final UserRepository userRepository;
+
+        LoadTestEndpoint(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/api/loadtest/io")
+        public String io(Authentication authentication) throws InterruptedException {
+            userRepository.findById(UUID.fromString(authentication.getName()));
+            Thread.sleep(IO_MILLIS);
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.momo.backend.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Ein virtueller Thread pro Request; die DB-Parallelitaet begrenzt nur noch der Hikari-Pool.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.max-connections=12000",
+        "server.tomcat.accept-count=1000",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+@Import(AbstractConcurrencyLoadTest.LoadTestEndpoint.class)
+@DirtiesContext
+class VirtualThreadsLoadTest extends AbstractConcurrencyLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
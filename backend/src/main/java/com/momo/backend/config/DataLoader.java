@@ -11,13 +11,16 @@ import com.momo.backend.repository.ChatRepository;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.ManagerRepository;
 import com.momo.backend.repository.RequestRepository;
+import com.momo.backend.service.interfaces.CredentialService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 @Configuration
@@ -28,6 +31,7 @@ public class DataLoader {
     private final EmployeeRepository employeeRepo;
     private final RequestRepository requestRepo;
     private final ChatRepository chatRepo;
+    private final CredentialService credentialService;
 
     @Bean
     ApplicationRunner loadData() {
@@ -37,12 +41,15 @@ public class DataLoader {
                 return;
             }
 
+            // Alle Seed-Passwoerter parallel vorab hashen
+            Iterator<String> seedHashes = credentialService.hashAll(Collections.nCopies(5, "pass123")).iterator();
+
             // Manager 1
             Manager manager1 = new Manager();
             manager1.setFirstName("Manager");
             manager1.setLastName("One");
             manager1.setEmail("manager1@mail.com");
-            manager1.setPassword("pass123");
+            manager1.setPassword(seedHashes.next());
             manager1.setRole(UserRole.MANAGER);
             managerRepo.save(manager1);
 
@@ -53,7 +60,7 @@ public class DataLoader {
             empAssigned.setEmail("emp1_1@mail.com");
             empAssigned.setHourlyRate(18.5);
             empAssigned.setAvailability(true);
-            empAssigned.setPassword("pass123");
+            empAssigned.setPassword(seedHashes.next());
             empAssigned.setRole(UserRole.EMPLOYEE);
             manager1.addEmployee(empAssigned);
             managerRepo.save(manager1); // cascades assigned employee
@@ -65,7 +72,7 @@ public class DataLoader {
             empPending.setEmail("emp1_2@mail.com");
             empPending.setHourlyRate(17.0);
             empPending.setAvailability(true);
-            empPending.setPassword("pass123");
+            empPending.setPassword(seedHashes.next());
             empPending.setRole(UserRole.EMPLOYEE);
             employeeRepo.save(empPending);
 
@@ -76,7 +83,7 @@ public class DataLoader {
             empApproved.setEmail("emp1_3@mail.com");
             empApproved.setHourlyRate(19.0);
             empApproved.setAvailability(true);
-            empApproved.setPassword("pass123");
+            empApproved.setPassword(seedHashes.next());
             empApproved.setRole(UserRole.EMPLOYEE);
             employeeRepo.save(empApproved);
 
@@ -104,7 +111,7 @@ public class DataLoader {
             manager2.setFirstName("Manager");
             manager2.setLastName("Two");
             manager2.setEmail("manager2@mail.com");
-            manager2.setPassword("pass123");
+            manager2.setPassword(seedHashes.next());
             manager2.setRole(UserRole.MANAGER);
             managerRepo.save(manager2);
 
@@ -5,7 +5,9 @@ import com.momo.backend.exception.CustomAccessDeniedHandler;
 import com.momo.backend.exception.CustomAuthEntryPoint;
 import com.momo.backend.service.CustomUserDetailsService;
 import com.momo.backend.service.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,6 +17,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -24,6 +27,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -41,6 +45,9 @@ public class SecurityConfig {
     @Autowired
     private CustomAccessDeniedHandler customAccessDeniedHandler;
 
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
 
     public SecurityConfig(CustomUserDetailsService userDetailsService,
                           JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -82,6 +89,8 @@ public class SecurityConfig {
                 )
                 .httpBasic(req -> req.authenticationEntryPoint(customAuthEntryPoint))
                 .authorizeHttpRequests(auth -> auth
+                        // Async-Dispatch (z.B. SSE) gehoert zu einem bereits autorisierten Request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/swagger-ui/**",
@@ -105,7 +114,20 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return createPasswordEncoder(bcryptStrength);
+    }
+
+    /**
+     * Neue Hashes: {bcrypt} mit konfigurierter Kosten. Der Kostenfaktor steckt in jedem
+     * Hash, daher werden aeltere/guenstigere Hashes weiter akzeptiert und beim naechsten
+     * erfolgreichen Login ueber den UserDetailsPasswordService neu gehasht.
+     * Hashes ohne Praefix (Altbestand) werden als BCrypt geprueft.
+     */
+    public static PasswordEncoder createPasswordEncoder(int bcryptStrength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return encoder;
     }
 
     @Bean
@@ -113,6 +135,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Rehash nach erfolgreichem Login, wenn der gespeicherte Hash veraltet ist
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
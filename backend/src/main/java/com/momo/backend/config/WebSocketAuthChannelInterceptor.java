@@ -1,5 +1,6 @@
 package com.momo.backend.config;
 
+import com.momo.backend.service.security.AuthenticatedUser;
 import com.momo.backend.service.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -11,8 +12,6 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -32,19 +31,14 @@ public class WebSocketAuthChannelInterceptor implements ChannelInterceptor {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
             String token = resolveToken(accessor);
-            if (token == null || !jwtTokenProvider.validateToken(token)) {
+            AuthenticatedUser principal = token != null ? jwtTokenProvider.resolvePrincipal(token).orElse(null) : null;
+            if (principal == null) {
                 throw new MessageDeliveryException("Missing or invalid JWT for WebSocket CONNECT");
             }
 
-            var claims = jwtTokenProvider.parseClaims(token);
-            String uid = claims.get("uid", String.class);
-            String role = claims.get("role", String.class);
-            if (uid == null || role == null) {
-                throw new MessageDeliveryException("Invalid JWT claims");
-            }
-
-            List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(uid, null, authorities);
+            // Principal.getName() = User-ID, damit /user/{uid}/... zugestellt wird
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
             accessor.setUser(authentication);
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -0,0 +1,62 @@
+package com.momo.backend.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Ersetzt {@code @EnableWebSocketMessageBroker}: gleiche Konfiguration (alle
+ * {@code WebSocketMessageBrokerConfigurer}, also {@link WebSocketConfig}), nur mit einem
+ * WebSocket-Handler, dessen Sessions der {@link WebSocketSessionMonitor} sieht.
+ */
+@Configuration
+public class WebSocketBrokerConfiguration extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final WebSocketSessionMonitor sessionMonitor;
+
+    public WebSocketBrokerConfiguration(WebSocketSessionMonitor sessionMonitor) {
+        this.sessionMonitor = sessionMonitor;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(
+            @Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+            @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel) {
+        SubProtocolWebSocketHandler handler =
+                new MonitoredSubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel, sessionMonitor);
+        handler.setPhase(getPhase());
+        return handler;
+    }
+
+    private static final class MonitoredSubProtocolWebSocketHandler extends SubProtocolWebSocketHandler {
+
+        private final WebSocketSessionMonitor sessionMonitor;
+
+        private MonitoredSubProtocolWebSocketHandler(MessageChannel clientInboundChannel,
+                                                     SubscribableChannel clientOutboundChannel,
+                                                     WebSocketSessionMonitor sessionMonitor) {
+            super(clientInboundChannel, clientOutboundChannel);
+            this.sessionMonitor = sessionMonitor;
+        }
+
+        @Override
+        protected WebSocketSession decorateSession(WebSocketSession session) {
+            return sessionMonitor.decorate(session, getSendTimeLimit(), getSendBufferSizeLimit());
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            sessionMonitor.remove(session.getId());
+            super.afterConnectionClosed(session, closeStatus);
+        }
+    }
+}
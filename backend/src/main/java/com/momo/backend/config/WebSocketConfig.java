@@ -1,38 +1,124 @@
 package com.momo.backend.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * STOMP broker configuration with JWT-protected inbound channel.
+ * <p>
+ * Default ist der In-Memory Simple Broker (eine Instanz). Mit
+ * {@code websocket.relay.enabled=true} werden /topic und /queue an einen externen
+ * STOMP-Broker (z.B. RabbitMQ, ActiveMQ Artemis) weitergereicht, sodass mehrere
+ * Backend-Instanzen dieselben Sessions und User-Destinations bedienen koennen.
+ * <p>
+ * Aktiviert wird der Broker ueber {@link WebSocketBrokerConfiguration}.
  */
 @Configuration
-@EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthChannelInterceptor webSocketAuthChannelInterceptor;
 
+    @Value("${websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // Gleicher Schalter wie fuer Tomcat und @Async (Spring Boot); ohne ihn bleibt der Spring-Default-Pool
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Limits pro Session; langsame Clients werden geschlossen und holen per Resume nach
+    @Value("${websocket.transport.message-size-limit-kb:64}")
+    private int messageSizeLimitKb;
+
+    @Value("${websocket.transport.send-buffer-size-limit-kb:256}")
+    private int sendBufferSizeLimitKb;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if (relayEnabled) {
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            // User-Destinations von Sessions auf anderen Instanzen ueber den Broker aufloesen
+            relay.setUserDestinationBroadcast("/topic/unresolved-user-destination");
+            relay.setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // Pro Session nacheinander senden: seq-Reihenfolge bleibt erhalten und ein langsamer
+        // Client belegt hoechstens einen Outbound-Thread statt den ganzen Pool
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimitKb * 1024)
+                .setSendBufferSizeLimit(sendBufferSizeLimitKb * 1024)
+                .setSendTimeLimit(sendTimeLimitMs);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+        // SUBSCRIBE-Frames vor /app/events/resume verarbeiten, sonst gehen nachgelieferte Events ins Leere
+        registry.setPreserveReceiveOrder(true);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // Enforce JWT validation on STOMP CONNECT frames
         registration.interceptors(webSocketAuthChannelInterceptor);
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
+    // Ein virtueller Thread pro Nachricht statt festem Pool; blockierende Sends/JDBC
+    // belegen dann keinen knappen Plattform-Thread mehr
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        return executor;
     }
 }
@@ -0,0 +1,136 @@
+package com.momo.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ueberwacht die Sendepuffer aller STOMP-Sessions und wirft langsame Clients hinaus.
+ *
+ * - Spring prueft Send-Time- und Buffer-Limit nur, wenn fuer dieselbe Session die naechste
+ *   Nachricht ankommt. Haengt ein Client ohne weitere Nachrichten, raeumt der Sweep ihn ab.
+ * - Hinausgeworfene Sessions werden mit SESSION_NOT_RELIABLE geschlossen; der Client
+ *   verbindet neu und holt Verpasstes ueber /app/events/resume nach.
+ * - Metriken: gepufferte Bytes pro Session (Verteilung), Summe/Maximum, Anzahl Evictions.
+ */
+@Component
+public class WebSocketSessionMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSessionMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${websocket.transport.sweep-ms:1000}")
+    private long sweepMs;
+
+    private final Map<String, MonitoredSession> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+    private DistributionSummary bufferedBytes;
+    private Counter evictions;
+
+    public WebSocketSessionMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        bufferedBytes = DistributionSummary.builder("websocket.session.buffered.bytes")
+                .description("Noch nicht gesendete Bytes pro Session (je Sweep gemessen)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.buffered.bytes.total", sessions,
+                        map -> map.values().stream().mapToLong(MonitoredSession::getBufferSize).sum())
+                .description("Noch nicht gesendete Bytes ueber alle Sessions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.buffered.bytes.max", sessions,
+                        map -> map.values().stream().mapToLong(MonitoredSession::getBufferSize).max().orElse(0))
+                .description("Groesster Sendepuffer einer einzelnen Session")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        evictions = Counter.builder("websocket.session.evicted")
+                .description("Sessions, die wegen Send-Time- oder Buffer-Limit geschlossen wurden")
+                .register(meterRegistry);
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ws-session-sweeper").daemon(true).factory());
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Ersetzt Springs Standard-Dekorator; Limits kommen aus der Transport-Konfiguration.
+     */
+    public WebSocketSession decorate(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit) {
+        MonitoredSession decorated = new MonitoredSession(session, sendTimeLimit, bufferSizeLimit);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    void sweep() {
+        for (MonitoredSession session : sessions.values()) {
+            try {
+                bufferedBytes.record(session.getBufferSize());
+                if (session.getTimeSinceSendStarted() > session.getSendTimeLimit()) {
+                    // close() kann am haengenden Socket blockieren -> nicht den Sweeper aufhalten
+                    Thread.ofVirtual().name("ws-evict-" + session.getId()).start(session::evict);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("WebSocket session sweep failed for {}", session.getId(), ex);
+            }
+        }
+    }
+
+    private final class MonitoredSession extends ConcurrentWebSocketSessionDecorator {
+
+        private final AtomicBoolean evicted = new AtomicBoolean();
+
+        private MonitoredSession(WebSocketSession delegate, int sendTimeLimit, int bufferSizeLimit) {
+            super(delegate, sendTimeLimit, bufferSizeLimit);
+        }
+
+        void evict() {
+            try {
+                close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException ex) {
+                log.debug("Closing slow WebSocket session {} failed", getId(), ex);
+            }
+        }
+
+        // Auch Springs eigener Limit-Pfad schliesst mit SESSION_NOT_RELIABLE
+        @Override
+        public void close(CloseStatus status) throws IOException {
+            if (status.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode() && evicted.compareAndSet(false, true)) {
+                evictions.increment();
+                log.info("Evicting slow WebSocket session {} ({} bytes buffered)", getId(), getBufferSize());
+            }
+            super.close(status);
+        }
+    }
+}
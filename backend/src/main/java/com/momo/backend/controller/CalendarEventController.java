@@ -5,11 +5,14 @@ import com.momo.backend.service.interfaces.CalendarEntryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,14 +24,18 @@ public class CalendarEventController {
     private final CalendarEntryService calendarEntryService;
 
     @GetMapping("/me")
-    @Operation(summary = "Eigene Kalender-Events abrufen")
-    public ResponseEntity<List<CalendarEventDto>> getMyEvents() {
-        return ResponseEntity.ok(calendarEntryService.getEventsForCurrentEmployee());
+    @Operation(summary = "Eigene Kalender-Events abrufen (optional nur Zeitraum from..to)")
+    public ResponseEntity<List<CalendarEventDto>> getMyEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(calendarEntryService.getEventsForCurrentEmployee(from, to));
     }
 
     @GetMapping("/manager")
-    @Operation(summary = "Alle Kalender-Events der eigenen Mitarbeiter abrufen")
-    public ResponseEntity<List<CalendarEventDto>> getManagerEvents() {
-        return ResponseEntity.ok(calendarEntryService.getEventsForCurrentManager());
+    @Operation(summary = "Kalender-Events der eigenen Mitarbeiter abrufen (optional nur Zeitraum from..to)")
+    public ResponseEntity<List<CalendarEventDto>> getManagerEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(calendarEntryService.getEventsForCurrentManager(from, to));
     }
 }
@@ -1,8 +1,10 @@
 package com.momo.backend.controller;
 
 import com.momo.backend.dto.ChatDto;
+import com.momo.backend.dto.ChatSummaryDto;
 import com.momo.backend.dto.CreateDirectChatRequest;
 import com.momo.backend.dto.CreateGroupChatRequest;
+import com.momo.backend.dto.MessageDeltaDto;
 import com.momo.backend.dto.MessageDto;
 import com.momo.backend.service.interfaces.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -25,14 +28,57 @@ public class ChatController {
 
     @GetMapping
     @Operation(summary = "Alle Chats des eingeloggten Users")
-    public ResponseEntity<List<ChatDto>> getChats() {
-        return ResponseEntity.ok(chatService.getChatsForCurrentUser());
+    public ResponseEntity<List<ChatDto>> getChats(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "0") int size
+    ) {
+        // ohne page-Parameter: alle Chats (bisheriges Verhalten)
+        if (page == null) {
+            return ResponseEntity.ok(chatService.getChatsForCurrentUser());
+        }
+        return ResponseEntity.ok(chatService.getChatsForCurrentUser(page, size));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Inbox: alle Chats mit letzter Nachricht und ungelesenen Nachrichten")
+    public ResponseEntity<List<ChatSummaryDto>> getSummary() {
+        return ResponseEntity.ok(chatService.getChatSummariesForCurrentUser());
+    }
+
+    @PostMapping("/{chatId}/read")
+    @Operation(summary = "Chat als gelesen markieren")
+    public ResponseEntity<Void> markRead(@PathVariable UUID chatId) {
+        chatService.markChatRead(chatId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{chatId}/messages")
-    @Operation(summary = "Nachrichten eines Chats abrufen")
-    public ResponseEntity<List<MessageDto>> getMessages(@PathVariable UUID chatId) {
-        return ResponseEntity.ok(chatService.getMessages(chatId));
+    @Operation(summary = "Nachrichten eines Chats abrufen (neueste zuerst, aeltere per before-Cursor)")
+    public ResponseEntity<List<MessageDto>> getMessages(
+            @PathVariable UUID chatId,
+            @RequestParam(required = false) UUID before,
+            @RequestParam(defaultValue = "0") int limit
+    ) {
+        return ResponseEntity.ok(chatService.getMessages(chatId, before, limit));
+    }
+
+    @GetMapping("/{chatId}/messages/since")
+    @Operation(summary = "Neue Nachrichten nach einem Cursor abrufen (Polling, ETag/304)")
+    public ResponseEntity<MessageDeltaDto> getMessagesSince(
+            @PathVariable UUID chatId,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "0") int limit,
+            WebRequest request
+    ) {
+        MessageDeltaDto delta = chatService.getMessagesSince(chatId, after, limit);
+        // ETag = Anfrage (after, limit) + letzte bekannte Nachricht; nur dieselbe Anfrage
+        // mit unveraendertem Ergebnis bekommt 304 ohne Body
+        String etag = "\"" + (after != null ? after : "start") + ":"
+                + (delta.getCursor() != null ? delta.getCursor() : "empty") + ":" + limit + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(delta);
     }
 
     @PostMapping("/direct")
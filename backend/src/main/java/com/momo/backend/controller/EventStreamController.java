@@ -0,0 +1,62 @@
+package com.momo.backend.controller;
+
+import com.momo.backend.dto.EventResumeRequest;
+import com.momo.backend.dto.StreamTokenDto;
+import com.momo.backend.service.DashboardEventStream;
+import com.momo.backend.service.UserEventLog;
+import com.momo.backend.service.security.AuthenticatedUser;
+import com.momo.backend.service.security.JwtTokenProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Endpunkte fuer den per-User-Eventstrom: STOMP fuer die App, SSE fuer reine Lese-Clients.
+ */
+@Controller
+@RequiredArgsConstructor
+@Tag(name = "Events", description = "Live-Events (SSE) fuer Dashboards")
+public class EventStreamController {
+
+    private final UserEventLog userEventLog;
+    private final DashboardEventStream dashboardEventStream;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    // Nach (Re-)Connect: verpasste Events seit lastSeq nachliefern
+    @MessageMapping("/events/resume")
+    public void resume(@Payload EventResumeRequest request, Principal principal) {
+        userEventLog.resume(UUID.fromString(principal.getName()), request.getLastSeq());
+    }
+
+    @PostMapping("/api/events/stream-token")
+    @ResponseBody
+    @Operation(summary = "Kurzlebiges Token fuer den SSE-Endpunkt (EventSource sendet keinen Authorization-Header)")
+    public StreamTokenDto streamToken(@AuthenticationPrincipal AuthenticatedUser user) {
+        return new StreamTokenDto(jwtTokenProvider.generateStreamToken(user), jwtTokenProvider.getStreamTokenTtlMs());
+    }
+
+    // Authentifiziert per Authorization-Header oder ?token=<Stream-Token>; das Token wird nur
+    // beim Verbindungsaufbau geprueft, nach Ablauf holt der Client fuer einen Reconnect ein neues
+    @GetMapping(path = "/api/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    @Operation(summary = "Assignment- und Request-Events als Server-Sent Events")
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Principal principal
+    ) {
+        return dashboardEventStream.open(UUID.fromString(principal.getName()), lastEventId);
+    }
+}
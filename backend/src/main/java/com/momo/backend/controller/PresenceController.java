@@ -0,0 +1,28 @@
+package com.momo.backend.controller;
+
+import com.momo.backend.dto.TypingRequest;
+import com.momo.backend.service.PresenceRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * STOMP-Endpunkte fuer Presence; Online-Status kommt aus CONNECT/DISCONNECT, nur Tippen
+ * meldet der Client selbst.
+ */
+@Controller
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceRegistry presenceRegistry;
+
+    @MessageMapping("/chats/{chatId}/typing")
+    public void typing(@DestinationVariable UUID chatId, @Payload TypingRequest request, Principal principal) {
+        presenceRegistry.typing(UUID.fromString(principal.getName()), chatId, request.isTyping());
+    }
+}
@@ -1,5 +1,6 @@
 package com.momo.backend.controller;
 
+import com.momo.backend.dto.BatchAssignmentRequest;
 import com.momo.backend.dto.TaskAssignmentDto;
 import com.momo.backend.entity.enums.AssignmentStatus;
 import com.momo.backend.service.interfaces.TaskAssignmentService;
@@ -27,6 +28,12 @@ public class TaskAssignmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(taskAssignmentService.createAssignment(dto));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Mehrere Employees in einem Schritt einem Task zuweisen")
+    public ResponseEntity<List<TaskAssignmentDto>> createAssignments(@RequestBody BatchAssignmentRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskAssignmentService.createAssignments(request));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Assignment nach ID abrufen")
     public ResponseEntity<TaskAssignmentDto> getAssignment(@PathVariable UUID id) {
@@ -1,5 +1,6 @@
 package com.momo.backend.controller;
 
+import com.momo.backend.dto.TaskCandidateDto;
 import com.momo.backend.dto.TaskDto;
 import com.momo.backend.service.interfaces.TaskService;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,13 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getTasksByManager(managerId));
     }
 
+    @GetMapping("/{id}/candidates")
+    @Operation(summary = "Verfuegbare Mitarbeiter fuer eine Task, bestgeeignete zuerst")
+    public ResponseEntity<List<TaskCandidateDto>> getCandidates(@PathVariable UUID id,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.getCandidates(id, limit));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Task aktualisieren")
     public ResponseEntity<TaskDto> updateTask(@PathVariable UUID id, @RequestBody TaskDto dto) {
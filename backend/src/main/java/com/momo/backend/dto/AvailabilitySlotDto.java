@@ -0,0 +1,28 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Belegter Zeitraum eines Mitarbeiters (Kalendereintrag oder genehmigter Urlaub),
+ * Grundlage fuer den AvailabilityIndex.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySlotDto {
+    private UUID sourceId;
+    private UUID employeeId;
+    private UUID taskId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    // Fuer JPQL-Konstruktorprojektion ohne Task (Urlaub)
+    public AvailabilitySlotDto(UUID sourceId, UUID employeeId, LocalDateTime start, LocalDateTime end) {
+        this(sourceId, employeeId, null, start, end);
+    }
+}
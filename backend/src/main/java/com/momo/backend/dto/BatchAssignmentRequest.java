@@ -0,0 +1,18 @@
+package com.momo.backend.dto;
+
+import com.momo.backend.entity.enums.AssignmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAssignmentRequest {
+    private UUID taskId;
+    private List<UUID> employeeIds;
+    private AssignmentStatus status; // null = PENDING
+}
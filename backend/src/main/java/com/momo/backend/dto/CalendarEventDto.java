@@ -23,4 +23,12 @@ public class CalendarEventDto {
     private String location;
     private String company;
     private AssignmentStatus assignmentStatus;
+
+    // Fuer JPQL-Konstruktorprojektion: Eintraege mit Task stammen aus einem akzeptierten Assignment
+    public CalendarEventDto(UUID id, UUID taskId, UUID employeeId, String employeeName,
+                            CalendarEntryType type, LocalDateTime start, LocalDateTime end,
+                            String location, String company) {
+        this(id, taskId, employeeId, employeeName, type, start, end, location, company,
+                taskId != null ? AssignmentStatus.ACCEPTED : null);
+    }
 }
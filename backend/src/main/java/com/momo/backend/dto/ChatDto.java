@@ -20,4 +20,6 @@ public class ChatDto {
     private UUID taskId;
     private Set<UUID> memberIds;
     private LocalDateTime createdAt;
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
 }
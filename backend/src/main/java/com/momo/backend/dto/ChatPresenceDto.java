@@ -0,0 +1,20 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Presence-Stand eines Chats (an /user/queue/presence): wer ist online, wer tippt gerade.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatPresenceDto {
+    private UUID chatId;
+    private List<UUID> online;
+    private List<UUID> typing;
+}
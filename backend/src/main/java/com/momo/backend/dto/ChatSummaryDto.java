@@ -0,0 +1,27 @@
+package com.momo.backend.dto;
+
+import com.momo.backend.entity.enums.ChatType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Inbox-Eintrag: Chat mit letzter Nachricht und Anzahl ungelesener Nachrichten.
+ * Wird per Konstruktor-Projektion direkt aus der Query befuellt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSummaryDto {
+    private UUID chatId;
+    private String name;
+    private ChatType type;
+    private UUID lastMessageId;
+    private String lastMessagePreview;
+    private UUID lastMessageSenderId;
+    private LocalDateTime lastMessageAt;
+    private long unreadCount;
+}
@@ -0,0 +1,12 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventResumeRequest {
+    private long lastSeq; // -1 = erste Verbindung, nur aktuellen Stand abfragen
+}
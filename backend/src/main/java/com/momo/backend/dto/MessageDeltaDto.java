@@ -0,0 +1,21 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Antwort fuer inkrementelles Nachladen: neue Nachrichten nach einem Cursor.
+ * cursor = ID der letzten bekannten Nachricht (fuer den naechsten Poll).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageDeltaDto {
+    private List<MessageDto> messages;
+    private UUID cursor;
+    private boolean hasMore;
+}
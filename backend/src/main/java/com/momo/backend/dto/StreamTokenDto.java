@@ -0,0 +1,11 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StreamTokenDto {
+    private String token;
+    private long expiresInMs; // nur fuer den Verbindungsaufbau noetig
+}
@@ -0,0 +1,29 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Mitarbeiter als Kandidat fuer eine Task, inkl. Verfuegbarkeit im Task-Zeitraum.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCandidateDto {
+    private UUID employeeId;
+    private String firstName;
+    private String lastName;
+    private Double hourlyRate;
+    private boolean available;    // globales Flag am Employee
+    private boolean free;         // keine Ueberschneidung im Task-Zeitraum
+    private boolean onLeave;      // genehmigter Urlaub im Task-Zeitraum
+    private int conflictCount;
+
+    // Fuer JPQL-Konstruktorprojektion; Zeitraum-Felder werden im Service gesetzt
+    public TaskCandidateDto(UUID employeeId, String firstName, String lastName, Double hourlyRate, boolean available) {
+        this(employeeId, firstName, lastName, hourlyRate, available, false, false, 0);
+    }
+}
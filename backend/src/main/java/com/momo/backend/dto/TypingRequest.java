@@ -0,0 +1,12 @@
+package com.momo.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingRequest {
+    private boolean typing; // false = Eingabe beendet/Nachricht gesendet
+}
@@ -1,6 +1,7 @@
 package com.momo.backend.entity;
 
 import com.momo.backend.entity.enums.CalendarEntryType;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,11 +14,13 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "calendar_entries")
+@Table(name = "calendar_entries", indexes = {
+        @Index(name = "idx_calendar_entries_employee_range", columnList = "employee_id, start_time, end_time")
+})
 public class CalendarEntry {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false)
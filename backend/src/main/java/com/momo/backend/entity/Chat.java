@@ -1,6 +1,7 @@
 package com.momo.backend.entity;
 
 import com.momo.backend.entity.enums.ChatType;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,7 @@ import java.util.UUID;
 public class Chat {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -37,10 +38,27 @@ public class Chat {
     private Task task;
 
     @ElementCollection
-    @CollectionTable(name = "chat_members", joinColumns = @JoinColumn(name = "chat_id"))
+    @CollectionTable(
+            name = "chat_members",
+            joinColumns = @JoinColumn(name = "chat_id"),
+            indexes = @Index(name = "idx_chat_members_member_chat", columnList = "member_id, chat_id")
+    )
     @Column(name = "member_id", nullable = false)
     private Set<UUID> memberIds = new HashSet<>();
 
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Denormalisierte letzte Nachricht fuer die Inbox (wird in sendMessage gepflegt)
+    @Column(name = "last_message_id")
+    private UUID lastMessageId;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_sender_id")
+    private UUID lastMessageSenderId;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
 }
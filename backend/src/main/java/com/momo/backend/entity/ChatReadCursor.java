@@ -0,0 +1,42 @@
+package com.momo.backend.entity;
+
+import com.momo.backend.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Lesestand eines Mitglieds in einem Chat (Basis fuer Unread-Counts)
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "chat_read_cursors",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_chat_read_cursors_chat_member",
+                columnNames = {"chat_id", "member_id"}
+        )
+)
+public class ChatReadCursor {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false, name = "chat_id")
+    private UUID chatId;
+
+    @Column(nullable = false, name = "member_id")
+    private UUID memberId;
+
+    // Alles bis einschliesslich dieses Zeitpunkts gilt als gelesen
+    @Column(nullable = false, name = "last_read_at")
+    private LocalDateTime lastReadAt;
+
+    @Column(name = "last_read_message_id")
+    private UUID lastReadMessageId;
+}
@@ -1,6 +1,7 @@
 package com.momo.backend.entity;
 
 import com.momo.backend.entity.enums.LeaveStatus;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,7 +19,7 @@ import java.util.UUID;
 public class LeaveRequest {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false)
@@ -1,5 +1,6 @@
 package com.momo.backend.entity;
 
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,11 +13,14 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "messages")
+@Table(
+        name = "messages",
+        indexes = @Index(name = "idx_messages_chat_created_id", columnList = "chat_id, created_at, id")
+)
 public class Message {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false)
@@ -0,0 +1,42 @@
+package com.momo.backend.entity;
+
+import com.momo.backend.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Noch nicht zugestelltes STOMP-Event; wird in derselben Transaktion wie die Aenderung geschrieben
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    // UUIDv7: Reihenfolge der Ids = Reihenfolge des Schreibens
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false, name = "recipient_id")
+    private UUID recipientId;
+
+    // User-Destination ohne /user-Praefix, z.B. /queue/requests
+    @Column(nullable = false, length = 100)
+    private String destination;
+
+    // Bereits serialisiertes JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    // Fehlgeschlagene Zustellversuche (OutboxRelay verwirft die Zeile ab max-attempts)
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,7 @@
 package com.momo.backend.entity;
 
 import com.momo.backend.entity.enums.RequestStatus;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,8 +20,7 @@ import java.util.UUID;
 public class Request {
 
     @Id
-    @GeneratedValue
-    @org.hibernate.annotations.UuidGenerator
+    @TimeOrderedUuid
     @Column(nullable = false, updatable = false, columnDefinition = "UUID")
     private UUID id;
 
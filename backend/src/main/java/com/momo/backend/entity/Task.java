@@ -1,5 +1,6 @@
 package com.momo.backend.entity;
 
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,7 +21,7 @@ import static jakarta.persistence.CascadeType.ALL;
 public class Task {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false)
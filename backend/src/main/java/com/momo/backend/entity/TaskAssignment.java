@@ -1,6 +1,7 @@
 package com.momo.backend.entity;
 
 import com.momo.backend.entity.enums.AssignmentStatus;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class TaskAssignment {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(optional = false)
@@ -2,9 +2,9 @@ package com.momo.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.momo.backend.entity.enums.UserRole;
+import com.momo.backend.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.UUID;
 
 @Getter
@@ -16,8 +16,7 @@ import java.util.UUID;
 public abstract class User {
 
     @Id
-    @GeneratedValue
-    @org.hibernate.annotations.UuidGenerator
+    @TimeOrderedUuid
     @Column(nullable = false, updatable = false, columnDefinition = "UUID")
     private UUID id;
 
@@ -37,13 +36,11 @@ public abstract class User {
     @Column(nullable = false)
     private UserRole role;
 
+    // Passwort wird vorher im CredentialService gehasht, nicht hier im Flush
     @PrePersist
     @PreUpdate
     private void prepareForSave() {
         assignDefaultRole();
-        if (password != null && !isBcryptHash(password)) {
-            this.password = new BCryptPasswordEncoder().encode(password);
-        }
     }
 
     private void assignDefaultRole() {
@@ -57,8 +54,4 @@ public abstract class User {
         }
     }
 
-    private boolean isBcryptHash(String pw) {
-        return pw.startsWith("$2a$") || pw.startsWith("$2b$") || pw.startsWith("$2y$");
-    }
-
 }
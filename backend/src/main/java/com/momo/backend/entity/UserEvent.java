@@ -0,0 +1,45 @@
+package com.momo.backend.entity;
+
+import com.momo.backend.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Aus dem In-Memory-Ringpuffer ausgelagertes Event des per-User-Eventlogs (fuer Resume nach Reconnect)
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "user_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_events_user_seq", columnNames = {"user_id", "seq"}),
+        indexes = @Index(name = "idx_user_events_created", columnList = "created_at")
+)
+public class UserEvent {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false, name = "user_id")
+    private UUID userId;
+
+    // Fortlaufende Nummer pro User
+    @Column(nullable = false)
+    private long seq;
+
+    // User-Destination ohne /user-Praefix, z.B. /queue/messages
+    @Column(nullable = false, length = 100)
+    private String destination;
+
+    // Bereits serialisiertes JSON
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+}
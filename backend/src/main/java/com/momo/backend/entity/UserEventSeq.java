@@ -0,0 +1,24 @@
+package com.momo.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// Zuletzt vergebene seq des per-User-Eventlogs; gemeinsamer Zaehler aller Instanzen
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_event_seqs")
+public class UserEventSeq {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false, name = "last_seq")
+    private long lastSeq;
+}
@@ -0,0 +1,20 @@
+package com.momo.backend.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Markiert eine UUID-Id, die beim Insert eine UUIDv7 bekommt (siehe {@link UuidV7}).
+ * Ersetzt {@code @GeneratedValue} auf den Entities.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {
+}
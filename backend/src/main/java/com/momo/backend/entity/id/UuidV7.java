@@ -0,0 +1,59 @@
+package com.momo.backend.entity.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Zeitlich sortierbare UUIDs nach RFC 9562 (Version 7).
+ * <p>
+ * Die oberen 48 Bit sind der Unix-Zeitstempel in Millisekunden, dadurch landen neue
+ * Primaerschluessel im B-Baum immer "rechts" statt zufaellig verteilt. Innerhalb derselben
+ * Millisekunde zaehlen die 12 Bit rand_a hoch, damit die IDs einer Instanz streng monoton bleiben.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_MAX = 0xFFF;
+
+    private static long lastMillis = -1;
+    private static int counter;
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                if (counter == COUNTER_MAX) {
+                    // Zaehler erschoepft: auf die naechste Millisekunde vorziehen
+                    millis++;
+                    counter = RANDOM.nextInt(COUNTER_MAX / 2);
+                } else {
+                    counter++;
+                }
+            } else {
+                // Zufaelliger Start, aber mit Luft nach oben fuer weitere IDs in dieser Millisekunde
+                counter = RANDOM.nextInt(COUNTER_MAX / 2);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Zeitstempel (Unix-Millisekunden) einer v7-UUID.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -17,7 +17,9 @@ public class ChatMapper {
                 chat.getManagerId(),
                 chat.getTask() != null ? chat.getTask().getId() : null,
                 chat.getMemberIds(),
-                chat.getCreatedAt()
+                chat.getCreatedAt(),
+                chat.getLastMessagePreview(),
+                chat.getLastMessageAt()
         );
     }
 
@@ -1,9 +1,15 @@
 package com.momo.backend.repository;
 
+import com.momo.backend.dto.AvailabilitySlotDto;
+import com.momo.backend.dto.CalendarEventDto;
 import com.momo.backend.entity.CalendarEntry;
 import com.momo.backend.entity.enums.CalendarEntryType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,4 +25,61 @@ public interface CalendarEntryRepository extends JpaRepository<CalendarEntry, UU
 
     java.util.Optional<CalendarEntry> findByTaskIdAndEmployeeId(UUID taskId, UUID employeeId);
 
+    // Kalender-Events direkt als DTO: ein Statement statt Nachladen von Employee/Task/Manager pro Zeile.
+    // Zeitraum [from, to): alle Eintraege, die ihn ueberlappen (Index employee_id, start_time, end_time)
+    @Query("""
+            SELECT new com.momo.backend.dto.CalendarEventDto(
+                c.id, t.id, e.id, CONCAT(e.firstName, ' ', e.lastName),
+                c.type, c.start, c.end, t.location, t.company)
+            FROM CalendarEntry c
+            JOIN c.employee e
+            LEFT JOIN c.task t
+            WHERE e.id = :employeeId
+              AND c.start < :to
+              AND c.end > :from
+            ORDER BY c.start
+            """)
+    List<CalendarEventDto> findEventsByEmployeeId(@Param("employeeId") UUID employeeId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.momo.backend.dto.CalendarEventDto(
+                c.id, t.id, e.id, CONCAT(e.firstName, ' ', e.lastName),
+                c.type, c.start, c.end, t.location, t.company)
+            FROM CalendarEntry c
+            JOIN c.employee e
+            LEFT JOIN c.task t
+            WHERE e.manager.id = :managerId
+              AND c.start < :to
+              AND c.end > :from
+            ORDER BY c.start
+            """)
+    List<CalendarEventDto> findEventsByManagerId(@Param("managerId") UUID managerId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    // Fuer den AvailabilityIndex: nur IDs und Zeiten, keine Entities
+    @Query("""
+            SELECT new com.momo.backend.dto.AvailabilitySlotDto(c.id, c.employee.id, t.id, c.start, c.end)
+            FROM CalendarEntry c
+            LEFT JOIN c.task t
+            WHERE c.end > :since
+            """)
+    List<AvailabilitySlotDto> findSlotsEndingAfter(@Param("since") LocalDateTime since);
+
+    // Mitarbeiter mit einem Eintrag in [from, to); Eintraege der Task ignoreTaskId zaehlen nicht
+    @Query("""
+            SELECT DISTINCT c.employee.id
+            FROM CalendarEntry c
+            LEFT JOIN c.task t
+            WHERE c.employee.id IN :employeeIds
+              AND c.start < :to
+              AND c.end > :from
+              AND (t.id IS NULL OR t.id <> :ignoreTaskId)
+            """)
+    List<UUID> findBusyEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("ignoreTaskId") UUID ignoreTaskId);
 }
@@ -0,0 +1,11 @@
+package com.momo.backend.repository;
+
+import com.momo.backend.entity.ChatReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ChatReadCursorRepository extends JpaRepository<ChatReadCursor, UUID> {
+    Optional<ChatReadCursor> findByChatIdAndMemberId(UUID chatId, UUID memberId);
+}
@@ -1,11 +1,67 @@
 package com.momo.backend.repository;
 
+import com.momo.backend.dto.ChatSummaryDto;
 import com.momo.backend.entity.Chat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ChatRepository extends JpaRepository<Chat, UUID> {
     Optional<Chat> findByTaskId(UUID taskId);
+
+    // Mitgliedschaft direkt in chat_members pruefen, ohne den Chat zu laden
+    @Query("SELECT COUNT(c) > 0 FROM Chat c JOIN c.memberIds m WHERE c.id = :chatId AND m = :userId")
+    boolean isMember(UUID chatId, UUID userId);
+
+    // Chats eines Users ueber den Index auf chat_members.member_id (neueste zuerst)
+    @Query("SELECT c.id FROM Chat c JOIN c.memberIds m WHERE m = :userId ORDER BY c.createdAt DESC, c.id")
+    List<UUID> findIdsByMemberId(UUID userId, Pageable pageable);
+
+    // Alle Chats, in denen mindestens einer der User Mitglied ist
+    @Query("SELECT DISTINCT c.id FROM Chat c JOIN c.memberIds m WHERE m IN :userIds")
+    List<UUID> findIdsByMemberIdIn(Collection<UUID> userIds);
+
+    // Laedt die Chats inkl. Member-Sets und Task in einem Statement (kein N+1)
+    @EntityGraph(attributePaths = {"memberIds", "task"})
+    @Query("SELECT DISTINCT c FROM Chat c WHERE c.id IN :ids")
+    List<Chat> findAllWithMembersByIdIn(Collection<UUID> ids);
+
+    // Inbox in einem Statement: letzte Nachricht (denormalisiert) + Unread-Count ab Lesestand
+    @Query("""
+            SELECT new com.momo.backend.dto.ChatSummaryDto(
+                c.id, c.name, c.type,
+                c.lastMessageId, c.lastMessagePreview, c.lastMessageSenderId, c.lastMessageAt,
+                (SELECT COUNT(msg) FROM Message msg
+                 WHERE msg.chat.id = c.id
+                   AND msg.senderId <> :userId
+                   AND (r.lastReadAt IS NULL OR msg.createdAt > r.lastReadAt))
+            )
+            FROM Chat c
+            JOIN c.memberIds member
+            LEFT JOIN ChatReadCursor r ON r.chatId = c.id AND r.memberId = :userId
+            WHERE member = :userId
+            ORDER BY COALESCE(c.lastMessageAt, c.createdAt) DESC, c.id
+            """)
+    List<ChatSummaryDto> findSummariesForMember(UUID userId);
+
+    // Nur vorwaerts: bei parallelen Sends gewinnt die neueste Nachricht, ohne den Chat zu laden/sperren
+    @Modifying
+    @Query("""
+            UPDATE Chat c
+            SET c.lastMessageId = :messageId,
+                c.lastMessagePreview = :preview,
+                c.lastMessageSenderId = :senderId,
+                c.lastMessageAt = :at
+            WHERE c.id = :chatId
+              AND (c.lastMessageAt IS NULL OR c.lastMessageAt < :at)
+            """)
+    int updateLastMessage(UUID chatId, UUID messageId, String preview, UUID senderId, LocalDateTime at);
 }
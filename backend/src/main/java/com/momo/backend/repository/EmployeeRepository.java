@@ -1,9 +1,12 @@
 package com.momo.backend.repository;
 
+import com.momo.backend.dto.TaskCandidateDto;
 import com.momo.backend.entity.*;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,4 +31,17 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
             """)
     List<Employee> searchUnassigned(String query);
 
+    // Kandidaten fuer die Task-Besetzung: nur Stammdaten, keine Collections
+    @Query("""
+            SELECT new com.momo.backend.dto.TaskCandidateDto(e.id, e.firstName, e.lastName, e.hourlyRate, e.availability)
+            FROM Employee e
+            WHERE e.manager.id = :managerId
+            """)
+    List<TaskCandidateDto> findCandidatesByManagerId(@Param("managerId") UUID managerId);
+
+    // Sperrt die Zeilen bis zum Commit (eine 1 pro gesperrter Zeile); feste Reihenfolge,
+    // damit sich zwei Batches nicht verklemmen
+    @Query(value = "SELECT 1 FROM employees e WHERE e.id IN (:ids) ORDER BY e.id FOR UPDATE", nativeQuery = true)
+    List<Integer> lockByIds(@Param("ids") Collection<UUID> ids);
+
 }
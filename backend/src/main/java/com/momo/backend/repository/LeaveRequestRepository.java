@@ -1,9 +1,14 @@
 package com.momo.backend.repository;
 
+import com.momo.backend.dto.AvailabilitySlotDto;
 import com.momo.backend.entity.LeaveRequest;
 import com.momo.backend.entity.enums.LeaveStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +19,26 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, UUID
     List<LeaveRequest> findByEmployeeManagerId(UUID managerId);
 
     List<LeaveRequest> findByStatus(LeaveStatus status);
+
+    // Fuer den AvailabilityIndex: genehmigter Urlaub als Zeitraum
+    @Query("""
+            SELECT new com.momo.backend.dto.AvailabilitySlotDto(l.id, l.employee.id, l.startDate, l.endDate)
+            FROM LeaveRequest l
+            WHERE l.status = com.momo.backend.entity.enums.LeaveStatus.APPROVED
+              AND l.endDate > :since
+            """)
+    List<AvailabilitySlotDto> findApprovedSlotsEndingAfter(@Param("since") LocalDateTime since);
+
+    // Mitarbeiter mit genehmigtem Urlaub in [from, to)
+    @Query("""
+            SELECT DISTINCT l.employee.id
+            FROM LeaveRequest l
+            WHERE l.employee.id IN :employeeIds
+              AND l.status = com.momo.backend.entity.enums.LeaveStatus.APPROVED
+              AND l.startDate < :to
+              AND l.endDate > :from
+            """)
+    List<UUID> findEmployeeIdsOnLeave(@Param("employeeIds") Collection<UUID> employeeIds,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
 }
@@ -1,11 +1,46 @@
 package com.momo.backend.repository;
 
 import com.momo.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<Message, UUID> {
-    List<Message> findByChatIdOrderByCreatedAtAsc(UUID chatId);
+    // Neueste Seite eines Chats (absteigend, Index rueckwaerts gelesen)
+    @Query("SELECT m FROM Message m WHERE m.chat.id = :chatId ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatest(UUID chatId, Pageable pageable);
+
+    // Keyset-Abfrage rueckwaerts: aeltere Nachrichten vor dem Cursor
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.chat.id = :chatId AND (
+                m.createdAt < :beforeCreatedAt OR
+                (m.createdAt = :beforeCreatedAt AND m.id < :beforeId)
+            )
+            ORDER BY m.createdAt DESC, m.id DESC
+            """)
+    List<Message> findBeforeCursor(UUID chatId, LocalDateTime beforeCreatedAt, UUID beforeId, Pageable pageable);
+
+    // Zeitstempel der Cursor-Nachricht, ohne die Entity zu laden
+    @Query("SELECT m.createdAt FROM Message m WHERE m.id = :messageId AND m.chat.id = :chatId")
+    Optional<LocalDateTime> findCreatedAtByIdAndChatId(UUID messageId, UUID chatId);
+
+    // Keyset-Abfrage auf (chat_id, created_at, id): nur Nachrichten nach dem Cursor
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.chat.id = :chatId AND (
+                m.createdAt > :afterCreatedAt OR
+                (m.createdAt = :afterCreatedAt AND m.id > :afterId)
+            )
+            ORDER BY m.createdAt ASC, m.id ASC
+            """)
+    List<Message> findAfterCursor(UUID chatId, LocalDateTime afterCreatedAt, UUID afterId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.chat.id = :chatId ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findFirstPage(UUID chatId, Pageable pageable);
 }
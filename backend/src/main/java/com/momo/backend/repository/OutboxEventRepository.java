@@ -0,0 +1,25 @@
+package com.momo.backend.repository;
+
+import com.momo.backend.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Aelteste zuerst (UUIDv7-Ids sind zeitlich sortiert). Sperrt die Zeilen bis zum Commit;
+    // von einer anderen Instanz gesperrte werden uebersprungen. Nativ, weil der
+    // PostgreSQL-Dialekt sonst "FOR NO KEY UPDATE" erzeugt, das H2 in Tests nicht kennt
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id = :id")
+    int incrementAttempts(@Param("id") UUID id);
+}
@@ -1,12 +1,36 @@
 package com.momo.backend.repository;
 
+import com.momo.backend.dto.TaskAssignmentDto;
 import com.momo.backend.entity.TaskAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskAssignmentRepository extends JpaRepository<TaskAssignment, UUID> {
     List<TaskAssignment> findByTaskId(UUID taskId);
     List<TaskAssignment> findByEmployeeId(UUID employeeId);
+
+    // Nur IDs (Assignment + Owner), ohne Task/Manager/Employee zu laden
+    @Query("""
+            SELECT new com.momo.backend.dto.TaskAssignmentDto(
+                a.id, t.id, a.employee.id, t.manager.id, a.status, a.respondedAt)
+            FROM TaskAssignment a JOIN a.task t
+            WHERE a.id = :id
+            """)
+    Optional<TaskAssignmentDto> findDtoById(@Param("id") UUID id);
+
+    @Query("SELECT a.employee.id FROM TaskAssignment a WHERE a.id = :id")
+    Optional<UUID> findEmployeeIdById(@Param("id") UUID id);
+
+    @Query("SELECT a.employee.id FROM TaskAssignment a WHERE a.task.id = :taskId")
+    List<UUID> findEmployeeIdsByTaskId(@Param("taskId") UUID taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskAssignment a WHERE a.id = :id")
+    int deleteByIdDirect(@Param("id") UUID id);
 }
@@ -4,8 +4,14 @@ import com.momo.backend.entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
     List<Task> findByManagerId(UUID managerId);
+
+    // Ownership direkt im WHERE: leer, wenn Task fehlt ODER einem anderen Manager gehoert
+    Optional<Task> findByIdAndManagerId(UUID id, UUID managerId);
+
+    boolean existsByIdAndManagerId(UUID id, UUID managerId);
 }
@@ -0,0 +1,32 @@
+package com.momo.backend.repository;
+
+import com.momo.backend.entity.UserEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserEventRepository extends JpaRepository<UserEvent, UUID> {
+
+    // Events im Bereich (afterSeq, beforeSeq), aufsteigend
+    @Query("""
+            SELECT e FROM UserEvent e
+            WHERE e.userId = :userId AND e.seq > :afterSeq AND e.seq < :beforeSeq
+            ORDER BY e.seq
+            """)
+    List<UserEvent> findRange(@Param("userId") UUID userId,
+                              @Param("afterSeq") long afterSeq,
+                              @Param("beforeSeq") long beforeSeq,
+                              Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
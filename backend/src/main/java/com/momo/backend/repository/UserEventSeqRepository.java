@@ -0,0 +1,25 @@
+package com.momo.backend.repository;
+
+import com.momo.backend.entity.UserEventSeq;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface UserEventSeqRepository extends JpaRepository<UserEventSeq, UUID> {
+
+    // Sperrt die Zeile bis zum Ende der Transaktion; 0 = User hat noch keinen Zaehler
+    @Modifying
+    @Query("UPDATE UserEventSeq s SET s.lastSeq = s.lastSeq + 1 WHERE s.userId = :userId")
+    int increment(@Param("userId") UUID userId);
+
+    // Erste seq eines Users; scheitert am Primaerschluessel, wenn eine andere Instanz schneller war
+    @Modifying
+    @Query(value = "INSERT INTO user_event_seqs (user_id, last_seq) VALUES (:userId, 1)", nativeQuery = true)
+    int insertFirst(@Param("userId") UUID userId);
+
+    @Query("SELECT s.lastSeq FROM UserEventSeq s WHERE s.userId = :userId")
+    Long findLastSeq(@Param("userId") UUID userId);
+}
@@ -0,0 +1,33 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.CalendarEntry;
+import com.momo.backend.entity.LeaveRequest;
+import com.momo.backend.entity.enums.LeaveStatus;
+
+import java.util.UUID;
+
+/**
+ * Domain-Event der Services: ein Kalendereintrag oder Urlaubsantrag wurde gespeichert
+ * oder geloescht. slot == null heisst, sourceId blockiert niemanden mehr.
+ */
+public record AvailabilityChangedEvent(UUID sourceId, AvailabilityIndex.Slot slot) {
+
+    public static AvailabilityChangedEvent saved(CalendarEntry entry) {
+        UUID taskId = entry.getTask() != null ? entry.getTask().getId() : null;
+        return new AvailabilityChangedEvent(entry.getId(), new AvailabilityIndex.Slot(entry.getId(),
+                AvailabilityIndex.Kind.CALENDAR, entry.getEmployee().getId(), taskId, entry.getStart(), entry.getEnd()));
+    }
+
+    // Abgelehnt oder wieder offen: blockiert den Mitarbeiter nicht
+    public static AvailabilityChangedEvent saved(LeaveRequest leave) {
+        if (leave.getStatus() != LeaveStatus.APPROVED) {
+            return removed(leave.getId());
+        }
+        return new AvailabilityChangedEvent(leave.getId(), new AvailabilityIndex.Slot(leave.getId(),
+                AvailabilityIndex.Kind.LEAVE, leave.getEmployee().getId(), null, leave.getStartDate(), leave.getEndDate()));
+    }
+
+    public static AvailabilityChangedEvent removed(UUID sourceId) {
+        return new AvailabilityChangedEvent(sourceId, null);
+    }
+}
@@ -0,0 +1,240 @@
+package com.momo.backend.service;
+
+import com.momo.backend.dto.AvailabilitySlotDto;
+import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-Memory-Index der belegten Zeitraeume pro Mitarbeiter.
+ *
+ * - Quelle sind Kalendereintraege und genehmigte Urlaubsantraege.
+ * - Pro Mitarbeiter eine nach Start sortierte Menge; Overlap-Abfragen
+ *   schauen nur auf das Fenster [from - laengstes Intervall, to).
+ * - Wird beim Start einmal geladen und danach ueber AvailabilityChangedEvent
+ *   (von den Services veroeffentlicht) nach jedem Commit inkrementell gepflegt.
+ * - Gilt pro Instanz und kann veralten; die Zuweisung prueft Konflikte deshalb
+ *   zusaetzlich in der DB (TaskAssignmentServiceImple).
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    public enum Kind { CALENDAR, LEAVE }
+
+    /**
+     * Belegter Zeitraum [start, end). taskId ist nur bei Task-Eintraegen gesetzt.
+     */
+    public record Slot(UUID sourceId, Kind kind, UUID employeeId, UUID taskId,
+                       LocalDateTime start, LocalDateTime end) {}
+
+    private static final Comparator<Slot> ORDER = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::end)
+            .thenComparing(Slot::sourceId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final CalendarEntryRepository calendarEntryRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    // Vergangene Eintraege sind fuer Konflikte uninteressant und werden nicht geladen
+    @Value("${availability.index.history-days:30}")
+    private long historyDays;
+
+    private final Map<UUID, EmployeeSlots> byEmployee = new ConcurrentHashMap<>();
+    // sourceId -> employeeId, damit Updates den alten Eintrag finden
+    private final Map<UUID, UUID> owners = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public AvailabilityIndex(CalendarEntryRepository calendarEntryRepository,
+                             LeaveRequestRepository leaveRequestRepository) {
+        this.calendarEntryRepository = calendarEntryRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    // ============================================================
+    // ABFRAGEN
+    // ============================================================
+
+    /**
+     * true, wenn der Mitarbeiter in [from, to) keinen belegten Zeitraum hat.
+     * Ein Kalendereintrag der Task ignoreTaskId zaehlt nicht als Konflikt.
+     */
+    public boolean isFree(UUID employeeId, LocalDateTime from, LocalDateTime to, UUID ignoreTaskId) {
+        return findConflicts(employeeId, from, to, ignoreTaskId).isEmpty();
+    }
+
+    public boolean isFree(UUID employeeId, LocalDateTime from, LocalDateTime to) {
+        return isFree(employeeId, from, to, null);
+    }
+
+    public List<Slot> findConflicts(UUID employeeId, LocalDateTime from, LocalDateTime to, UUID ignoreTaskId) {
+        validateRange(from, to);
+        ensureLoaded();
+        EmployeeSlots slots = byEmployee.get(employeeId);
+        return slots == null ? List.of() : slots.overlapping(from, to, ignoreTaskId);
+    }
+
+    /**
+     * Filtert die Kandidaten auf die, die im Zeitraum einer Task frei sind.
+     */
+    public List<UUID> findFreeEmployees(Collection<UUID> candidates, LocalDateTime from, LocalDateTime to,
+                                        UUID ignoreTaskId) {
+        validateRange(from, to);
+        ensureLoaded();
+        List<UUID> free = new ArrayList<>(candidates.size());
+        for (UUID employeeId : candidates) {
+            EmployeeSlots slots = byEmployee.get(employeeId);
+            if (slots == null || slots.overlapping(from, to, ignoreTaskId).isEmpty()) {
+                free.add(employeeId);
+            }
+        }
+        return free;
+    }
+
+    // ============================================================
+    // PFLEGE
+    // ============================================================
+
+    public void put(Slot slot) {
+        Objects.requireNonNull(slot.sourceId(), "sourceId");
+        UUID previousOwner = owners.put(slot.sourceId(), slot.employeeId());
+        if (previousOwner != null && !previousOwner.equals(slot.employeeId())) {
+            EmployeeSlots old = byEmployee.get(previousOwner);
+            if (old != null) {
+                old.remove(slot.sourceId());
+            }
+        }
+        byEmployee.computeIfAbsent(slot.employeeId(), id -> new EmployeeSlots()).put(slot);
+    }
+
+    // Nach dem Commit; bei Rollback bleibt der Index unveraendert
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (event.slot() != null) {
+            put(event.slot());
+        } else {
+            remove(event.sourceId());
+        }
+    }
+
+    public void remove(UUID sourceId) {
+        UUID owner = owners.remove(sourceId);
+        if (owner == null) {
+            return;
+        }
+        EmployeeSlots slots = byEmployee.get(owner);
+        if (slots != null) {
+            slots.remove(sourceId);
+        }
+    }
+
+    // Einmaliger Aufbau aus zwei schlanken Projektionen; put ist idempotent,
+    // daher schadet es nicht, wenn vorher schon Events angekommen sind
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // Lock statt synchronized: der Aufbau liest aus der DB (kein Pinning virtueller Threads)
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+            List<AvailabilitySlotDto> calendar = calendarEntryRepository.findSlotsEndingAfter(since);
+            List<AvailabilitySlotDto> leave = leaveRequestRepository.findApprovedSlotsEndingAfter(since);
+            calendar.forEach(dto -> put(toSlot(dto, Kind.CALENDAR)));
+            leave.forEach(dto -> put(toSlot(dto, Kind.LEAVE)));
+            loaded = true;
+            log.info("Availability index loaded: {} calendar entries, {} approved leave requests",
+                    calendar.size(), leave.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static Slot toSlot(AvailabilitySlotDto dto, Kind kind) {
+        return new Slot(dto.getSourceId(), kind, dto.getEmployeeId(), dto.getTaskId(), dto.getStart(), dto.getEnd());
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Zeitraum ist ungueltig (from muss vor to liegen).");
+        }
+    }
+
+    /**
+     * Intervalle eines Mitarbeiters. Schreibzugriffe sind selten, daher reicht
+     * ein Monitor pro Mitarbeiter.
+     */
+    private static final class EmployeeSlots {
+        private final NavigableSet<Slot> sorted = new TreeSet<>(ORDER);
+        private final Map<UUID, Slot> bySource = new HashMap<>();
+        // Laengstes je gesehenes Intervall; schrumpft beim Entfernen nicht, bleibt also korrekt
+        private Duration maxLength = Duration.ZERO;
+
+        synchronized void put(Slot slot) {
+            Slot old = bySource.put(slot.sourceId(), slot);
+            if (old != null) {
+                sorted.remove(old);
+            }
+            sorted.add(slot);
+            Duration length = Duration.between(slot.start(), slot.end());
+            if (length.compareTo(maxLength) > 0) {
+                maxLength = length;
+            }
+        }
+
+        synchronized void remove(UUID sourceId) {
+            Slot old = bySource.remove(sourceId);
+            if (old != null) {
+                sorted.remove(old);
+            }
+        }
+
+        synchronized List<Slot> overlapping(LocalDateTime from, LocalDateTime to, UUID ignoreTaskId) {
+            // Jedes ueberlappende Intervall beginnt fruehestens maxLength vor from
+            Slot lower = new Slot(null, null, null, null, from.minus(maxLength), LocalDateTime.MIN);
+            List<Slot> result = new ArrayList<>(0);
+            for (Slot slot : sorted.tailSet(lower, true)) {
+                if (!slot.start().isBefore(to)) {
+                    break;
+                }
+                if (slot.end().isAfter(from)
+                        && (ignoreTaskId == null || !ignoreTaskId.equals(slot.taskId()))) {
+                    result.add(slot);
+                }
+            }
+            return result;
+        }
+    }
+}
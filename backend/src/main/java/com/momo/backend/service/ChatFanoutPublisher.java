@@ -0,0 +1,162 @@
+package com.momo.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchroner Fan-out fuer Chat-Events an mehrere User-Queues.
+ *
+ * - Payload wird genau einmal zu JSON serialisiert und fuer alle Empfaenger geteilt.
+ * - Zustellung laeuft ueber das UserEventLog (seq pro User, Resume nach Reconnect).
+ * - Zustellung laeuft nicht auf dem Request-Thread, sondern wird pro Tick
+ *   gebuendelt aus einer begrenzten Queue abgearbeitet.
+ * - Ist die Queue voll, wird synchron zugestellt (Backpressure statt Verlust).
+ * - Innerhalb einer Transaktion wird erst nach dem Commit eingereiht.
+ */
+@Component
+public class ChatFanoutPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatFanoutPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserEventLog userEventLog;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.fanout.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.fanout.tick-ms:20}")
+    private long tickMs;
+
+    @Value("${chat.fanout.max-batch:500}")
+    private int maxBatch;
+
+    private BlockingQueue<FanoutJob> queue;
+    private ScheduledExecutorService drainer;
+    private Timer deliveryLag;
+    private Counter deliveredMessages;
+    private Counter inlineDeliveries;
+
+    public ChatFanoutPublisher(SimpMessagingTemplate messagingTemplate,
+                               UserEventLog userEventLog,
+                               MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userEventLog = userEventLog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        drainer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("chat-fanout").daemon(true).factory());
+        drainer.scheduleWithFixedDelay(this::drain, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("chat.fanout.queue.depth", queue, BlockingQueue::size)
+                .description("Wartende Fan-out-Jobs")
+                .register(meterRegistry);
+        deliveryLag = Timer.builder("chat.fanout.delivery.lag")
+                .description("Zeit zwischen Einreihen und Zustellung")
+                .register(meterRegistry);
+        deliveredMessages = Counter.builder("chat.fanout.delivered")
+                .description("Zugestellte Einzelnachrichten (pro Empfaenger)")
+                .register(meterRegistry);
+        inlineDeliveries = Counter.builder("chat.fanout.inline")
+                .description("Jobs, die wegen voller Queue synchron zugestellt wurden")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        drainer.shutdown();
+        try {
+            drainer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Rest noch zustellen, damit beim Shutdown nichts verloren geht
+        drain();
+    }
+
+    /**
+     * Stellt payload an die User-Destination aller Empfaenger zu.
+     */
+    public void publish(Collection<UUID> recipients, String destination, Object payload) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        FanoutJob job = new FanoutJob(Set.copyOf(recipients), destination, serialize(payload), System.nanoTime());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(job);
+                }
+            });
+        } else {
+            enqueue(job);
+        }
+    }
+
+    private void enqueue(FanoutJob job) {
+        if (!queue.offer(job)) {
+            inlineDeliveries.increment();
+            deliver(job);
+        }
+    }
+
+    private void drain() {
+        List<FanoutJob> batch = new ArrayList<>(Math.min(maxBatch, queue.size()));
+        queue.drainTo(batch, maxBatch);
+        for (FanoutJob job : batch) {
+            try {
+                deliver(job);
+            } catch (RuntimeException ex) {
+                log.warn("Chat fan-out to {} failed", job.destination(), ex);
+            }
+        }
+    }
+
+    private void deliver(FanoutJob job) {
+        for (UUID recipient : job.recipients()) {
+            userEventLog.deliver(recipient, job.destination(), job.payload());
+        }
+        deliveredMessages.increment(job.recipients().size());
+        deliveryLag.record(System.nanoTime() - job.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Gleicher Converter wie convertAndSendToUser, damit das JSON-Format identisch bleibt
+    private byte[] serialize(Object payload) {
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null || !(converted.getPayload() instanceof byte[] bytes)) {
+            throw new IllegalStateException("Could not serialize fan-out payload");
+        }
+        return bytes;
+    }
+
+    private record FanoutJob(Set<UUID> recipients, String destination, byte[] payload, long enqueuedAtNanos) {}
+}
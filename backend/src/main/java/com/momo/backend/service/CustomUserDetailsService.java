@@ -5,15 +5,17 @@ import com.momo.backend.entity.User;
 import com.momo.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
         private final UserRepository userRepository;
 
@@ -33,4 +35,19 @@ public class CustomUserDetailsService implements UserDetailsService {
                                 .authorities(role)
                                 .build();
         }
+
+        // Wird nach erfolgreichem Login aufgerufen, wenn der Encoder ein Upgrade verlangt
+        @Override
+        @Transactional
+        public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+                User user = userRepository.findByEmail(userDetails.getUsername())
+                                .orElseThrow(() -> new UsernameNotFoundException(
+                                                "User with email " + userDetails.getUsername() + " not found"));
+                user.setPassword(newPassword);
+
+                return org.springframework.security.core.userdetails.User
+                                .withUserDetails(userDetails)
+                                .password(newPassword)
+                                .build();
+        }
 }
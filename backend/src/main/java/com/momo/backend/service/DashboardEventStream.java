@@ -0,0 +1,277 @@
+package com.momo.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events fuer reine Lese-Clients (Dashboards) auf Basis des {@link UserEventLog}.
+ *
+ * - Nur /queue/assignments und /queue/requests; SSE-Event-Id = seq, damit der Browser
+ *   per Last-Event-ID nahtlos fortsetzen kann.
+ * - Eine Verbindung belegt keinen Thread: geschrieben wird auf kurzlebigen virtuellen Threads,
+ *   nur solange Events anstehen.
+ * - Backpressure pro Verbindung: noch nicht geschriebene Events werden pro Entitaet
+ *   zusammengefasst (nur der neueste Stand zaehlt); laeuft der Puffer trotzdem ueber,
+ *   wird er verworfen und stattdessen ein "resync" geschickt.
+ */
+@Component
+public class DashboardEventStream implements UserEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardEventStream.class);
+
+    static final Set<String> DESTINATIONS = Set.of("/queue/assignments", "/queue/requests");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final UserEventLog userEventLog;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${events.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.sse.max-pending:100}")
+    private int maxPending;
+
+    @Value("${events.sse.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    private final Map<UUID, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeat;
+    private Counter coalescedEvents;
+    private Counter overflows;
+
+    public DashboardEventStream(UserEventLog userEventLog, MeterRegistry meterRegistry) {
+        this.userEventLog = userEventLog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        userEventLog.addListener(this);
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+        heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("sse-heartbeat").daemon(true).factory());
+        heartbeat.scheduleWithFixedDelay(this::heartbeatAll, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+
+        Gauge.builder("events.sse.connections", connections,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Offene SSE-Verbindungen")
+                .register(meterRegistry);
+        coalescedEvents = Counter.builder("events.sse.coalesced")
+                .description("Events, die durch einen neueren Stand derselben Entitaet ersetzt wurden")
+                .register(meterRegistry);
+        overflows = Counter.builder("events.sse.overflow")
+                .description("Verbindungen, deren Puffer ueberlief und die ein resync bekamen")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        connections.values().forEach(set -> set.forEach(connection -> {
+            connection.close();
+            connection.emitter.complete();
+        }));
+        writers.shutdown();
+    }
+
+    /**
+     * Oeffnet einen Stream fuer den User; mit lastEventId werden verpasste Events nachgeliefert.
+     */
+    public SseEmitter open(UUID userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        connections.compute(userId, (id, set) -> {
+            Set<Connection> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(connection);
+            return result;
+        });
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(ex -> connection.close());
+
+        if (lastEventId != null) {
+            UserEventLog.Replay replay = userEventLog.replay(userId, lastEventId);
+            if (!replay.complete()) {
+                connection.offerResync(replay.currentSeq());
+            } else {
+                for (UserEventLog.LoggedEvent event : replay.events()) {
+                    if (DESTINATIONS.contains(event.destination())) {
+                        connection.offer(coalesceKey(event), event);
+                    }
+                }
+            }
+        }
+        return emitter;
+    }
+
+    @Override
+    public void onEvent(UUID userId, UserEventLog.LoggedEvent event) {
+        if (!DESTINATIONS.contains(event.destination())) {
+            return;
+        }
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        String key = coalesceKey(event);
+        userConnections.forEach(connection -> connection.offer(key, event));
+    }
+
+    // Gleiche Entitaet (Assignment/Request-Id) -> gleicher Schluessel; Listen u.ae. werden nie zusammengefasst
+    private String coalesceKey(UserEventLog.LoggedEvent event) {
+        try {
+            JsonNode node = JSON.readTree(event.payload());
+            JsonNode id = node.has("payload") ? node.path("payload").path("id") : node.path("id");
+            if (id.isTextual()) {
+                return event.destination() + ":" + id.asText();
+            }
+        } catch (IOException ex) {
+            // kein zusammenfassbares JSON
+        }
+        return "seq:" + event.seq();
+    }
+
+    private void heartbeatAll() {
+        connections.values().forEach(set -> set.forEach(Connection::offerHeartbeat));
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Connection {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, UserEventLog.LoggedEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private long resyncSeq = -1;
+        private boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Connection(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(String key, UserEventLog.LoggedEvent event) {
+            synchronized (this) {
+                if (resyncSeq >= 0) {
+                    resyncSeq = event.seq();
+                } else {
+                    // neu einfuegen, damit pending nach seq sortiert bleibt
+                    if (pending.remove(key) != null) {
+                        coalescedEvents.increment();
+                    }
+                    pending.put(key, event);
+                    if (pending.size() > maxPending) {
+                        pending.clear();
+                        resyncSeq = event.seq();
+                        overflows.increment();
+                    }
+                }
+            }
+            schedule();
+        }
+
+        void offerResync(long seq) {
+            synchronized (this) {
+                pending.clear();
+                resyncSeq = seq;
+            }
+            schedule();
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                writers.execute(this::flush);
+            }
+        }
+
+        private void flush() {
+            try {
+                while (!closed) {
+                    List<UserEventLog.LoggedEvent> batch;
+                    long resync;
+                    boolean ping;
+                    synchronized (this) {
+                        if (pending.isEmpty() && resyncSeq < 0 && !heartbeatDue) {
+                            scheduled.set(false);
+                            return;
+                        }
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                        resync = resyncSeq;
+                        resyncSeq = -1;
+                        ping = heartbeatDue;
+                        heartbeatDue = false;
+                    }
+                    // Schreiben ausserhalb des Locks; ein langsamer Client blockiert nur seinen eigenen Thread
+                    for (UserEventLog.LoggedEvent event : batch) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.seq()))
+                                .name(event.destination().substring("/queue/".length()))
+                                .data(new String(event.payload(), StandardCharsets.UTF_8), MediaType.APPLICATION_JSON));
+                    }
+                    if (resync >= 0) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(resync))
+                                .name("resync")
+                                .data(Map.of("seq", resync), MediaType.APPLICATION_JSON));
+                    }
+                    if (ping) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    }
+                }
+                scheduled.set(false);
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("SSE stream of user {} closed", userId, ex);
+                close();
+                emitter.completeWithError(ex);
+            }
+        }
+
+        void close() {
+            closed = true;
+            remove(this);
+        }
+    }
+}
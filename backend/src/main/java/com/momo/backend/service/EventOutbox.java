@@ -0,0 +1,83 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.OutboxEvent;
+import com.momo.backend.repository.OutboxEventRepository;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Schreibseite der Transactional Outbox.
+ *
+ * - Events landen in derselben Transaktion wie die fachliche Aenderung in outbox_events;
+ *   bei Rollback gibt es also auch kein Event.
+ * - Der Request-Thread spricht nie mit dem Broker, das uebernimmt der OutboxRelay.
+ * - Nach dem Commit wird der Relay angestossen, damit die Latenz nicht am Poll-Intervall haengt.
+ */
+@Component
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxRelay outboxRelay;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository,
+                       SimpMessagingTemplate messagingTemplate,
+                       OutboxRelay outboxRelay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Merkt payload fuer die User-Destination aller Empfaenger vor (Reihenfolge bleibt erhalten).
+     */
+    public void publish(Collection<UUID> recipients, String destination, Object payload) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        String json = serialize(payload);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<OutboxEvent> events = new ArrayList<>(recipients.size());
+        for (UUID recipient : new LinkedHashSet<>(recipients)) {
+            OutboxEvent event = new OutboxEvent();
+            event.setRecipientId(recipient);
+            event.setDestination(destination);
+            event.setPayload(json);
+            event.setCreatedAt(now);
+            events.add(event);
+        }
+        outboxEventRepository.saveAll(events);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        } else {
+            outboxRelay.wakeUp();
+        }
+    }
+
+    // Gleicher Converter wie convertAndSendToUser, damit das JSON-Format identisch bleibt
+    private String serialize(Object payload) {
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null || !(converted.getPayload() instanceof byte[] bytes)) {
+            throw new IllegalStateException("Could not serialize outbox payload");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.OutboxEvent;
+import com.momo.backend.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Leseseite der Transactional Outbox: stellt gespeicherte Events asynchron zu.
+ *
+ * - Zustellung laeuft ueber das UserEventLog (seq pro User, Resume nach Reconnect).
+ * - Ein eigener Thread ("outbox-relay") arbeitet die Tabelle in Id-Reihenfolge batchweise ab.
+ * - Jeder Batch wird in einer Transaktion mit FOR UPDATE SKIP LOCKED beansprucht; laufen
+ *   mehrere Instanzen, stellt jede nur die Zeilen zu, die sie selbst gesperrt hat.
+ * - Zugestellte Zeilen werden am Ende des Batches geloescht (at-least-once). Scheitert das
+ *   Senden, endet der Lauf an dieser Zeile, damit die Reihenfolge erhalten bleibt; nach
+ *   max-attempts Fehlversuchen wird die Zeile verworfen und geloggt, sonst wuerde ein
+ *   einzelnes kaputtes Event die Queue dauerhaft blockieren.
+ * - Neben dem Anstoss nach jedem Commit wird zusaetzlich gepollt, damit auch Events
+ *   anderer Instanzen oder nach einem Neustart rausgehen.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventLog userEventLog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.poll-ms:1000}")
+    private long pollMs;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       UserEventLog userEventLog,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userEventLog = userEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("outbox-relay").daemon(true).factory());
+        executor.scheduleWithFixedDelay(this::drain, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stoesst einen Lauf an; mehrere Anstoesse vor dem naechsten Lauf werden zusammengefasst.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true) && !executor.isShutdown()) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Arbeitet alle offenen Events ab. Laeuft nur auf dem Relay-Thread (und in Tests).
+     */
+    void drain() {
+        try {
+            Boolean more;
+            do {
+                more = transactionTemplate.execute(status -> publishBatch());
+            } while (Boolean.TRUE.equals(more));
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay run failed, retrying on next tick", ex);
+        }
+    }
+
+    // true = Batch war voll und komplett zugestellt, weiter mit dem naechsten
+    private boolean publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimNextBatch(batchSize);
+        List<UUID> done = new ArrayList<>(batch.size());
+        boolean complete = true;
+        for (OutboxEvent event : batch) {
+            if (!publish(event)) {
+                complete = false;
+                break;
+            }
+            done.add(event.getId());
+        }
+        if (!done.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(done);
+        }
+        return complete && batch.size() == batchSize;
+    }
+
+    // false = Zeile bleibt stehen, Lauf abbrechen
+    private boolean publish(OutboxEvent event) {
+        try {
+            userEventLog.deliver(event.getRecipientId(), event.getDestination(),
+                    event.getPayload().getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException ex) {
+            int attempts = event.getAttempts() + 1;
+            if (attempts < maxAttempts) {
+                log.warn("Outbox event {} failed (attempt {}/{}), retrying on next tick",
+                        event.getId(), attempts, maxAttempts, ex);
+                outboxEventRepository.incrementAttempts(event.getId());
+                return false;
+            }
+            log.error("Dropping outbox event {} for {} on {} after {} failed attempts",
+                    event.getId(), event.getRecipientId(), event.getDestination(), attempts, ex);
+        }
+        return true;
+    }
+}
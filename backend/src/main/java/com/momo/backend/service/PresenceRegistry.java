@@ -0,0 +1,254 @@
+package com.momo.backend.service;
+
+import com.momo.backend.dto.ChatPresenceDto;
+import com.momo.backend.entity.Chat;
+import com.momo.backend.exception.CustomAccessDeniedException;
+import com.momo.backend.repository.ChatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online-Status und Tipp-Anzeige fuer Chats, komplett im Speicher.
+ *
+ * - Online = mindestens eine offene STOMP-Session (STOMP CONNECT/DISCONNECT-Events).
+ * - Tippen meldet der Client ueber /app/chats/{chatId}/typing; ohne Auffrischung
+ *   verfaellt der Status nach typing-ttl-ms.
+ * - Aenderungen markieren nur den Chat bzw. den User; alle flush-ms wird pro markiertem
+ *   Chat genau ein Stand an die Online-Mitglieder geschickt (/user/queue/presence). Viele
+ *   Wechsel im selben Fenster ergeben so eine einzige Nachricht.
+ * - Die Chats eines Users werden erst beim Flush aufgeloest, damit neue oder verlassene
+ *   Chats waehrend einer laufenden Session beruecksichtigt werden.
+ * - Bewusst am UserEventLog vorbei: Presence ist fluechtig, nach einem Reconnect
+ *   kommt ohnehin ein frischer Stand.
+ * - Der Stand lebt pro Instanz; im Relay-Modus sieht eine Instanz nur ihre eigenen Sessions.
+ */
+@Component
+public class PresenceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceRegistry.class);
+
+    public static final String DESTINATION = "/queue/presence";
+
+    // Obergrenze fuer die IN-Liste beim Nachladen der Mitglieder
+    private static final int CHAT_BATCH_SIZE = 500;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatRepository chatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${presence.flush-ms:500}")
+    private long flushMs;
+
+    @Value("${presence.typing-ttl-ms:5000}")
+    private long typingTtlMs;
+
+    // userId -> offene STOMP-Sessions
+    private final Map<UUID, Set<String>> online = new ConcurrentHashMap<>();
+    // chatId -> (userId -> tippt bis, epoch ms)
+    private final Map<UUID, Map<UUID, Long>> typing = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyChats = ConcurrentHashMap.newKeySet();
+    // User, deren saemtliche Chats beim naechsten Flush neu verschickt werden
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService flusher;
+    private Counter sentUpdates;
+
+    public PresenceRegistry(SimpMessagingTemplate messagingTemplate,
+                            ChatRepository chatRepository,
+                            MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.chatRepository = chatRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("presence.online.users", online, Map::size)
+                .description("User mit mindestens einer offenen STOMP-Session")
+                .register(meterRegistry);
+        sentUpdates = Counter.builder("presence.updates.sent")
+                .description("Zugestellte Presence-Staende (pro Empfaenger)")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("presence-flush").daemon(true).factory());
+        flusher.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        UUID userId = userId(event.getUser());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (userId == null || sessionId == null) {
+            return;
+        }
+        Set<String> sessionIds = online.compute(userId, (id, current) -> {
+            Set<String> next = current != null ? current : ConcurrentHashMap.newKeySet();
+            next.add(sessionId);
+            return next;
+        });
+        if (sessionIds.size() == 1) {
+            dirtyUsers.add(userId);
+        }
+    }
+
+    // Eigener Stand erst, wenn der Client zuhoert; sonst ginge der erste Flush ins Leere
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String destination = SimpMessageHeaderAccessor.getDestination(event.getMessage().getHeaders());
+        UUID userId = userId(event.getUser());
+        if (userId == null || !("/user" + DESTINATION).equals(destination)) {
+            return;
+        }
+        if (online.containsKey(userId)) {
+            dirtyUsers.add(userId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        UUID userId = userId(event.getUser());
+        if (userId == null) {
+            return;
+        }
+        boolean[] wentOffline = {false};
+        online.computeIfPresent(userId, (id, sessionIds) -> {
+            sessionIds.remove(event.getSessionId());
+            wentOffline[0] = sessionIds.isEmpty();
+            return wentOffline[0] ? null : sessionIds;
+        });
+        if (!wentOffline[0]) {
+            return;
+        }
+        typing.forEach((chatId, typers) -> {
+            if (typers.remove(userId) != null) {
+                dirtyChats.add(chatId);
+            }
+        });
+        dirtyUsers.add(userId);
+    }
+
+    /**
+     * Tipp-Status eines Mitglieds; wiederholtes typing=true frischt nur die Ablaufzeit auf.
+     */
+    public void typing(UUID userId, UUID chatId, boolean isTyping) {
+        if (!isTyping) {
+            Map<UUID, Long> typers = typing.get(chatId);
+            if (typers != null && typers.remove(userId) != null) {
+                dirtyChats.add(chatId);
+            }
+            return;
+        }
+        Map<UUID, Long> typers = typing.get(chatId);
+        // Mitgliedschaft nur beim Wechsel auf "tippt" pruefen, nicht bei jeder Auffrischung
+        if ((typers == null || !typers.containsKey(userId)) && !chatRepository.isMember(chatId, userId)) {
+            throw new CustomAccessDeniedException("Not a member of chat " + chatId);
+        }
+        long until = System.currentTimeMillis() + typingTtlMs;
+        // compute statt computeIfAbsent + put: sonst koennte expireTyping die Map dazwischen entfernen
+        typing.compute(chatId, (id, current) -> {
+            Map<UUID, Long> next = current != null ? current : new ConcurrentHashMap<>();
+            if (next.put(userId, until) == null) {
+                dirtyChats.add(chatId);
+            }
+            return next;
+        });
+    }
+
+    void flush() {
+        try {
+            expireTyping();
+            resolveDirtyUsers();
+            if (dirtyChats.isEmpty()) {
+                return;
+            }
+            List<UUID> batch = new ArrayList<>(dirtyChats);
+            batch.forEach(dirtyChats::remove);
+            for (int from = 0; from < batch.size(); from += CHAT_BATCH_SIZE) {
+                List<UUID> chunk = batch.subList(from, Math.min(from + CHAT_BATCH_SIZE, batch.size()));
+                for (Chat chat : chatRepository.findAllWithMembersByIdIn(chunk)) {
+                    send(chat);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Presence flush failed", ex);
+        }
+    }
+
+    // Chats der markierten User erst jetzt und fuer alle zusammen laden
+    private void resolveDirtyUsers() {
+        if (dirtyUsers.isEmpty()) {
+            return;
+        }
+        List<UUID> users = new ArrayList<>(dirtyUsers);
+        users.forEach(dirtyUsers::remove);
+        for (int from = 0; from < users.size(); from += CHAT_BATCH_SIZE) {
+            List<UUID> chunk = users.subList(from, Math.min(from + CHAT_BATCH_SIZE, users.size()));
+            dirtyChats.addAll(chatRepository.findIdsByMemberIdIn(chunk));
+        }
+    }
+
+    private void send(Chat chat) {
+        List<UUID> onlineMembers = chat.getMemberIds().stream().filter(online::containsKey).sorted().toList();
+        if (onlineMembers.isEmpty()) {
+            return;
+        }
+        List<UUID> typers = typing.getOrDefault(chat.getId(), Map.of()).keySet().stream().sorted().toList();
+        ChatPresenceDto presence = new ChatPresenceDto(chat.getId(), onlineMembers, typers);
+        for (UUID member : onlineMembers) {
+            messagingTemplate.convertAndSendToUser(member.toString(), DESTINATION, presence);
+        }
+        sentUpdates.increment(onlineMembers.size());
+    }
+
+    private void expireTyping() {
+        long now = System.currentTimeMillis();
+        for (UUID chatId : List.copyOf(typing.keySet())) {
+            typing.computeIfPresent(chatId, (id, typers) -> {
+                if (typers.values().removeIf(until -> until < now)) {
+                    dirtyChats.add(chatId);
+                }
+                return typers.isEmpty() ? null : typers;
+            });
+        }
+    }
+
+    private UUID userId(Principal principal) {
+        if (principal == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(principal.getName());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
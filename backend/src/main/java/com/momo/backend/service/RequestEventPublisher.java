@@ -2,28 +2,28 @@ package com.momo.backend.service;
 
 import com.momo.backend.dto.RequestDto;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
- * Publishes request-related events to STOMP subscribers on /topic/requests.
+ * Publishes request-related events to STOMP subscribers on /user/queue/requests.
+ * Events go through the transactional outbox and are only delivered after commit.
  */
 @Component
 @RequiredArgsConstructor
 public class RequestEventPublisher {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final EventOutbox eventOutbox;
 
     public void publishCreated(RequestDto dto) {
         var event = new RequestEvent("request_created", dto);
-        messagingTemplate.convertAndSendToUser(dto.getManagerId().toString(), "/queue/requests", event);
-        messagingTemplate.convertAndSendToUser(dto.getEmployeeId().toString(), "/queue/requests", event);
+        eventOutbox.publish(List.of(dto.getManagerId(), dto.getEmployeeId()), "/queue/requests", event);
     }
 
     public void publishUpdated(RequestDto dto) {
         var event = new RequestEvent("request_updated", dto);
-        messagingTemplate.convertAndSendToUser(dto.getManagerId().toString(), "/queue/requests", event);
-        messagingTemplate.convertAndSendToUser(dto.getEmployeeId().toString(), "/queue/requests", event);
+        eventOutbox.publish(List.of(dto.getManagerId(), dto.getEmployeeId()), "/queue/requests", event);
     }
 
     public record RequestEvent(String type, RequestDto payload) {}
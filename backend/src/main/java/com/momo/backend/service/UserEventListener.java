@@ -0,0 +1,12 @@
+package com.momo.backend.service;
+
+import java.util.UUID;
+
+/**
+ * Abnehmer fuer Events aus dem {@link UserEventLog}; wird auf dem Zustell-Thread aufgerufen
+ * und darf daher nicht blockieren.
+ */
+public interface UserEventListener {
+
+    void onEvent(UUID userId, UserEventLog.LoggedEvent event);
+}
@@ -0,0 +1,391 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.UserEvent;
+import com.momo.backend.repository.UserEventRepository;
+import com.momo.backend.repository.UserEventSeqRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-User-Eventlog fuer alle STOMP-User-Queues (/queue/messages, /queue/assignments, /queue/requests).
+ *
+ * - Jedes zugestellte Event bekommt pro User eine fortlaufende Nummer (STOMP-Header "seq").
+ *   Die Nummer kommt aus user_event_seqs, damit sie auch im Relay-Modus ueber alle
+ *   Instanzen eindeutig ist.
+ * - Die letzten N Events pro User liegen im Speicher. Waechst der Puffer um spill-batch-size
+ *   darueber hinaus, lagert der Wartungs-Thread die aeltesten Events gesammelt in user_events
+ *   aus (ein saveAll, nicht unter dem Lock); nach der Aufbewahrungszeit werden sie geloescht.
+ * - Nach einem Reconnect schickt der Client seine letzte seq (/app/events/resume) und bekommt
+ *   nur die verpassten Events erneut zugestellt. Ist die Luecke nicht mehr schliessbar,
+ *   geht ein "resync" an /queue/events und der Client laedt einmal per REST nach.
+ * - Der Puffer lebt pro Instanz und enthaelt nur die hier erzeugten Events. Events anderer
+ *   Instanzen holt Resume aus der Tabelle; sind sie dort noch nicht ausgelagert, gibt es
+ *   ein resync statt einer falschen Wiederholung.
+ */
+@Component
+public class UserEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventLog.class);
+
+    public static final String SEQ_HEADER = "seq";
+    public static final String CONTROL_DESTINATION = "/queue/events";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserEventRepository userEventRepository;
+    private final UserEventSeqRepository userEventSeqRepository;
+    private final TransactionTemplate spillTransaction;
+    private final TransactionTemplate seqTransaction;
+
+    @Value("${events.log.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${events.log.spill-batch-size:64}")
+    private int spillBatchSize;
+
+    @Value("${events.log.max-replay:500}")
+    private int maxReplay;
+
+    @Value("${events.log.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${events.log.idle-minutes:30}")
+    private long idleMinutes;
+
+    private final Map<UUID, UserBuffer> buffers = new ConcurrentHashMap<>();
+    private final List<UserEventListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService maintenance;
+
+    public UserEventLog(SimpMessagingTemplate messagingTemplate,
+                        UserEventRepository userEventRepository,
+                        UserEventSeqRepository userEventSeqRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.messagingTemplate = messagingTemplate;
+        this.userEventRepository = userEventRepository;
+        this.userEventSeqRepository = userEventSeqRepository;
+        this.spillTransaction = new TransactionTemplate(transactionManager);
+        // Immer eigene Transaktion (auch aus dem Outbox-Batch heraus): die seq gilt, sobald das
+        // Event gesendet ist, und die Zeilensperre soll nur kurz gehalten werden
+        this.seqTransaction = new TransactionTemplate(transactionManager);
+        this.seqTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void start() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("user-event-log").daemon(true).factory());
+        maintenance.scheduleWithFixedDelay(this::maintain, 5, 5, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        maintenance.shutdownNow();
+        try {
+            // Laufendes Auslagern abwarten, sonst landen dieselben seqs doppelt in der Tabelle
+            maintenance.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // Puffer sichern, damit Resume auch nach einem geordneten Neustart funktioniert
+        for (UUID userId : List.copyOf(buffers.keySet())) {
+            evictBuffer(userId, true);
+        }
+    }
+
+    /**
+     * Vergibt die naechste seq fuer den User, merkt das Event vor und stellt es zu.
+     */
+    public long deliver(UUID userId, String destination, byte[] payload) {
+        while (true) {
+            UserBuffer buffer = buffer(userId);
+            LoggedEvent event;
+            buffer.lock.lock();
+            try {
+                if (buffer.closed) {
+                    continue; // gerade verdraengt, neu laden
+                }
+                event = new LoggedEvent(nextSeq(userId), destination, payload, LocalDateTime.now());
+                buffer.events.addLast(event);
+                // Unter dem Lock senden, sonst koennen sich zwei Events desselben Users ueberholen
+                send(userId, event);
+                if (buffer.events.size() >= bufferSize + spillBatchSize && !buffer.spillScheduled
+                        && !maintenance.isShutdown()) {
+                    buffer.spillScheduled = true;
+                    maintenance.execute(() -> spillOverflow(userId, buffer));
+                }
+            } finally {
+                buffer.lock.unlock();
+            }
+            notifyListeners(userId, event);
+            return event.seq();
+        }
+    }
+
+    /**
+     * Stellt alle Events nach lastSeq erneut zu bzw. meldet dem Client den aktuellen Stand.
+     */
+    public void resume(UUID userId, long lastSeq) {
+        Replay replay = replay(userId, lastSeq);
+        if (lastSeq < 0) {
+            sendControl(userId, "sync", replay.currentSeq());
+        } else if (!replay.complete()) {
+            sendControl(userId, "resync", replay.currentSeq());
+        } else {
+            replay.events().forEach(event -> send(userId, event));
+        }
+    }
+
+    /**
+     * Alle Events nach lastSeq in seq-Reihenfolge; complete=false, wenn die Luecke nicht mehr
+     * geschlossen werden kann und der Client neu laden muss. lastSeq < 0 liefert nur den Stand.
+     */
+    public Replay replay(UUID userId, long lastSeq) {
+        // Stand vor dem Puffer lesen: alle lokalen Events bis current liegen dann schon im Puffer
+        Long lastAllocated = userEventSeqRepository.findLastSeq(userId);
+        long current = lastAllocated == null ? 0 : lastAllocated;
+        if (lastSeq < 0) {
+            return new Replay(current, List.of(), true);
+        }
+        // Client ist weiter als der Server (z.B. Log nach Absturz verloren)
+        if (lastSeq > current) {
+            return new Replay(current, List.of(), false);
+        }
+        long missing = current - lastSeq;
+        if (missing > maxReplay) {
+            return new Replay(current, List.of(), false);
+        }
+
+        TreeMap<Long, LoggedEvent> events = new TreeMap<>();
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer != null) {
+            buffer.lock.lock();
+            try {
+                for (LoggedEvent event : buffer.events) {
+                    if (event.seq() > lastSeq && event.seq() <= current) {
+                        events.put(event.seq(), event);
+                    }
+                }
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+        // Ausgelagerte Events und die anderer Instanzen kommen aus der Tabelle
+        if (events.size() < missing) {
+            List<UserEvent> spilled = userEventRepository.findRange(
+                    userId, lastSeq, current + 1, PageRequest.of(0, (int) missing));
+            for (UserEvent e : spilled) {
+                events.putIfAbsent(e.getSeq(), new LoggedEvent(e.getSeq(), e.getDestination(),
+                        e.getPayload().getBytes(StandardCharsets.UTF_8), e.getCreatedAt()));
+            }
+        }
+        // Luecke (Aufbewahrungszeit abgelaufen, andere Instanz noch nicht ausgelagert) -> neu laden
+        if (events.size() != missing) {
+            return new Replay(current, List.of(), false);
+        }
+        return new Replay(current, List.copyOf(events.values()), true);
+    }
+
+    /**
+     * Weitere Abnehmer (z.B. SSE) bekommen jedes Event nach der STOMP-Zustellung mit.
+     */
+    public void addListener(UserEventListener listener) {
+        listeners.add(listener);
+    }
+
+    // Verdraengt inaktive Puffer in die Tabelle und raeumt alte Events auf
+    void maintain() {
+        try {
+            for (UUID userId : List.copyOf(buffers.keySet())) {
+                evictBuffer(userId, false);
+            }
+            userEventRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+        } catch (RuntimeException ex) {
+            log.warn("User event log maintenance failed", ex);
+        }
+    }
+
+    // Laeuft auf dem Wartungs-Thread. Die Events bleiben bis nach dem Commit im Puffer,
+    // damit ein gleichzeitiges Resume keine Luecke sieht; scheitert das Auslagern, bleiben
+    // sie ganz drin und der naechste Ueberlauf versucht es erneut.
+    private void spillOverflow(UUID userId, UserBuffer buffer) {
+        List<LoggedEvent> overflow;
+        buffer.lock.lock();
+        try {
+            buffer.spillScheduled = false;
+            int count = buffer.events.size() - bufferSize;
+            if (buffer.closed || count <= 0) {
+                return;
+            }
+            overflow = buffer.events.stream().limit(count).toList();
+        } finally {
+            buffer.lock.unlock();
+        }
+
+        if (!spill(userId, overflow)) {
+            return;
+        }
+
+        buffer.lock.lock();
+        try {
+            // Nur dieser Thread entfernt vorne; hinten kommen nur neuere seqs dazu
+            long lastSpilled = overflow.getLast().seq();
+            while (!buffer.events.isEmpty() && buffer.events.peekFirst().seq() <= lastSpilled) {
+                buffer.events.pollFirst();
+            }
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    private void evictBuffer(UUID userId, boolean force) {
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer == null) {
+            return;
+        }
+        buffer.lock.lock();
+        try {
+            LoggedEvent last = buffer.events.peekLast();
+            boolean idle = last == null
+                    || last.createdAt().isBefore(LocalDateTime.now().minusMinutes(idleMinutes));
+            if (!force && !idle) {
+                return;
+            }
+            // Ohne erfolgreiches Auslagern bleibt der Puffer stehen, sonst waeren die Events weg
+            if (!spill(userId, buffer.events) && !force) {
+                return;
+            }
+            buffer.events.clear();
+            buffer.closed = true;
+            buffers.remove(userId, buffer);
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    private UserBuffer buffer(UUID userId) {
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer != null) {
+            return buffer;
+        }
+        return buffers.computeIfAbsent(userId, id -> new UserBuffer());
+    }
+
+    // Die Zeilensperre reiht gleichzeitige Instanzen hintereinander
+    private long nextSeq(UUID userId) {
+        try {
+            return allocateSeq(userId);
+        } catch (DataIntegrityViolationException ex) {
+            // Andere Instanz hat den Zaehler gleichzeitig angelegt, jetzt gibt es ihn
+            return allocateSeq(userId);
+        }
+    }
+
+    private long allocateSeq(UUID userId) {
+        Long seq = seqTransaction.execute(status -> {
+            if (userEventSeqRepository.increment(userId) == 0) {
+                userEventSeqRepository.insertFirst(userId);
+            }
+            return userEventSeqRepository.findLastSeq(userId);
+        });
+        if (seq == null) {
+            throw new IllegalStateException("No event sequence for user " + userId);
+        }
+        return seq;
+    }
+
+    // false = nichts geschrieben
+    private boolean spill(UUID userId, Collection<LoggedEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        List<UserEvent> rows = new ArrayList<>(events.size());
+        for (LoggedEvent event : events) {
+            UserEvent row = new UserEvent();
+            row.setUserId(userId);
+            row.setSeq(event.seq());
+            row.setDestination(event.destination());
+            row.setPayload(new String(event.payload(), StandardCharsets.UTF_8));
+            row.setCreatedAt(event.createdAt());
+            rows.add(row);
+        }
+        try {
+            spillTransaction.executeWithoutResult(status -> userEventRepository.saveAll(rows));
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Could not spill {} events of user {}", rows.size(), userId, ex);
+            return false;
+        }
+    }
+
+    private void send(UUID userId, LoggedEvent event) {
+        messagingTemplate.send("/user/" + userId + event.destination(), buildMessage(event));
+    }
+
+    // Geteiltes byte[]; nur die (kleinen) Header werden pro Empfaenger neu gebaut
+    private Message<byte[]> buildMessage(LoggedEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(SEQ_HEADER, Long.toString(event.seq()));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(event.payload(), accessor.getMessageHeaders());
+    }
+
+    private void notifyListeners(UUID userId, LoggedEvent event) {
+        for (UserEventListener listener : listeners) {
+            try {
+                listener.onEvent(userId, event);
+            } catch (RuntimeException ex) {
+                log.warn("User event listener failed", ex);
+            }
+        }
+    }
+
+    private void sendControl(UUID userId, String type, long seq) {
+        messagingTemplate.convertAndSendToUser(userId.toString(), CONTROL_DESTINATION, new StreamControl(type, seq));
+    }
+
+    public record StreamControl(String type, long seq) {}
+
+    public record LoggedEvent(long seq, String destination, byte[] payload, LocalDateTime createdAt) {}
+
+    public record Replay(long currentSeq, List<LoggedEvent> events, boolean complete) {}
+
+    // ReentrantLock statt synchronized: beim Verdraengen wird unter dem Lock in die DB
+    // ausgelagert, ein virtueller Thread wuerde sonst seinen Traeger-Thread blockieren
+    private static final class UserBuffer {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<LoggedEvent> events = new ArrayDeque<>();
+        private boolean closed;
+        private boolean spillScheduled;
+    }
+}
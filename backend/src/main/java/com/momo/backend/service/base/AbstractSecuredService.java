@@ -2,8 +2,8 @@ package com.momo.backend.service.base;
 
 import com.momo.backend.entity.enums.UserRole;
 import com.momo.backend.exception.CustomAccessDeniedException;
+import com.momo.backend.service.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.UUID;
@@ -24,21 +24,25 @@ import java.util.UUID;
 public abstract class AbstractSecuredService {
 
     /**
-     * Liefert die ID des aktuell eingeloggten Users aus dem
-     * SecurityContext.
+     * Liefert den Principal des aktuellen Requests.
      *
-     * Wichtig:
-     * - Implementierung hier sollte 1:1 so sein wie bisher
-     *   in deinem ChatServiceImple.getCurrentUserId().
+     * Wird vom JwtAuthenticationFilter bzw. WebSocketAuthChannelInterceptor
+     * einmal pro Request aus dem JWT gesetzt; UUID und Rollen sind bereits
+     * geparst.
      */
-    protected UUID getCurrentUserId() {
+    protected AuthenticatedUser getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) {
-            throw new CustomAccessDeniedException("Not authenticated");
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
         }
-        // Falls du bisher etwas anderes gemacht hast (z.B. Email + Repository),
-        // dann bitte die Logik aus ChatServiceImple hierher KOPIEREN.
-        return UUID.fromString(auth.getName());
+        throw new CustomAccessDeniedException("Not authenticated");
+    }
+
+    /**
+     * Liefert die ID des aktuell eingeloggten Users.
+     */
+    protected UUID getCurrentUserId() {
+        return getCurrentUser().id();
     }
 
     /**
@@ -46,16 +50,9 @@ public abstract class AbstractSecuredService {
      */
     protected boolean hasRole(UserRole role) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null) return false;
-
-        // In HTTP + WebSocket SecurityConfig werden Authorities als "ROLE_<ROLE>"
-        // gesetzt. Wir erlauben beide Schreibweisen, um konsistent zu sein.
-        String raw = role.name();
-        String prefixed = "ROLE_" + raw;
-
-        return auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals(raw) || a.equals(prefixed));
+        return auth != null
+                && auth.getPrincipal() instanceof AuthenticatedUser user
+                && user.hasRole(role);
     }
 
     /**
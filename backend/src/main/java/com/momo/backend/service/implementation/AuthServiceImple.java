@@ -11,6 +11,7 @@ import com.momo.backend.service.interfaces.AuthService;
 import com.momo.backend.service.interfaces.EmployeeService;
 import com.momo.backend.service.interfaces.ManagerService;
 import com.momo.backend.service.interfaces.UserService;
+import com.momo.backend.service.security.AuthenticatedUser;
 import com.momo.backend.service.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,7 +25,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Base64;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -131,21 +131,13 @@ public class AuthServiceImple implements AuthService {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
-        if (auth == null || !auth.isAuthenticated()) {
+        // principal = AuthenticatedUser (aus JWT Filter)
+        if (auth == null || !auth.isAuthenticated()
+                || !(auth.getPrincipal() instanceof AuthenticatedUser principal)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
         }
 
-        // principal = uid (aus JWT Filter)
-        String uid = (String) auth.getPrincipal();
-
-        UUID userId;
-        try {
-            userId = UUID.fromString(uid);
-        } catch (Exception ex) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid user id in token");
-        }
-
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(principal.id())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         if (user instanceof Manager manager) {
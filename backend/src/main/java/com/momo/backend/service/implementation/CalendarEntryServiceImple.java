@@ -5,7 +5,6 @@ import com.momo.backend.dto.CalendarEventDto;
 import com.momo.backend.entity.CalendarEntry;
 import com.momo.backend.entity.Employee;
 import com.momo.backend.entity.Task;
-import com.momo.backend.entity.enums.AssignmentStatus;
 import com.momo.backend.entity.enums.CalendarEntryType;
 import com.momo.backend.entity.enums.UserRole;
 import com.momo.backend.exception.CustomAccessDeniedException;
@@ -13,11 +12,14 @@ import com.momo.backend.exception.ResourceNotFoundException;
 import com.momo.backend.repository.CalendarEntryRepository;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.AvailabilityChangedEvent;
 import com.momo.backend.service.base.AbstractSecuredService;
 import com.momo.backend.service.interfaces.CalendarEntryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,13 +31,17 @@ public class CalendarEntryServiceImple extends AbstractSecuredService implements
     private final CalendarEntryRepository calendarEntryRepository;
     private final EmployeeRepository employeeRepository;
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final LocalDateTime OPEN_RANGE_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime OPEN_RANGE_END = LocalDateTime.of(9999, 12, 31, 23, 59);
 
     @Override
     public CalendarEntryDto createEntry(CalendarEntryDto dto) {
         requireAccessToEmployee(dto.getEmployeeId());
         CalendarEntry entry = new CalendarEntry();
         fillEntry(entry, dto);
-        return toDto(calendarEntryRepository.save(entry));
+        return toDto(saveAndPublish(entry));
     }
 
     @Override
@@ -82,7 +88,7 @@ public class CalendarEntryServiceImple extends AbstractSecuredService implements
         requireAccessToEmployee(entry.getEmployee().getId());
         requireAccessToEmployee(dto.getEmployeeId());
         fillEntry(entry, dto);
-        return toDto(calendarEntryRepository.save(entry));
+        return toDto(saveAndPublish(entry));
     }
 
     @Override
@@ -91,22 +97,42 @@ public class CalendarEntryServiceImple extends AbstractSecuredService implements
                 .orElseThrow(() -> new ResourceNotFoundException("Calendar entry not found"));
         requireAccessToEmployee(entry.getEmployee().getId());
         calendarEntryRepository.delete(entry);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.removed(entry.getId()));
+    }
+
+    private CalendarEntry saveAndPublish(CalendarEntry entry) {
+        CalendarEntry saved = calendarEntryRepository.save(entry);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
-    public List<CalendarEventDto> getEventsForCurrentEmployee() {
+    public List<CalendarEventDto> getEventsForCurrentEmployee(LocalDateTime from, LocalDateTime to) {
         UUID employeeId = getCurrentUserId();
-        return calendarEntryRepository.findByEmployeeId(employeeId).stream()
-                .map(this::toEventDto)
-                .collect(Collectors.toList());
+        validateRange(from, to);
+        return calendarEntryRepository.findEventsByEmployeeId(employeeId, lowerBound(from), upperBound(to));
     }
 
     @Override
-    public List<CalendarEventDto> getEventsForCurrentManager() {
+    public List<CalendarEventDto> getEventsForCurrentManager(LocalDateTime from, LocalDateTime to) {
         UUID managerId = requireManagerAndGetId();
-        return calendarEntryRepository.findByEmployeeManagerId(managerId).stream()
-                .map(this::toEventDto)
-                .collect(Collectors.toList());
+        validateRange(from, to);
+        return calendarEntryRepository.findEventsByManagerId(managerId, lowerBound(from), upperBound(to));
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+
+    // Offene Grenzen als feste Werte, damit die Query ohne NULL-Sonderfaelle den Index nutzt
+    private LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : OPEN_RANGE_START;
+    }
+
+    private LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : OPEN_RANGE_END;
     }
 
     private void fillEntry(CalendarEntry entry, CalendarEntryDto dto) {
@@ -138,27 +164,6 @@ public class CalendarEntryServiceImple extends AbstractSecuredService implements
         );
     }
 
-    private CalendarEventDto toEventDto(CalendarEntry entry) {
-        String employeeName = entry.getEmployee() != null
-                ? entry.getEmployee().getFirstName() + " " + entry.getEmployee().getLastName()
-                : null;
-
-        AssignmentStatus status = entry.getTask() != null ? AssignmentStatus.ACCEPTED : null;
-
-        return new CalendarEventDto(
-                entry.getId(),
-                entry.getTask() != null ? entry.getTask().getId() : null,
-                entry.getEmployee() != null ? entry.getEmployee().getId() : null,
-                employeeName,
-                entry.getType(),
-                entry.getStart(),
-                entry.getEnd(),
-                entry.getTask() != null ? entry.getTask().getLocation() : null,
-                entry.getTask() != null ? entry.getTask().getCompany() : null,
-                status
-        );
-    }
-
     private void requireAccessToEmployee(UUID employeeId) {
         UUID current = getCurrentUserId();
         if (current.equals(employeeId)) {
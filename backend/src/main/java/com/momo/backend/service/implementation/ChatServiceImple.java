@@ -1,8 +1,11 @@
 package com.momo.backend.service.implementation;
 
 import com.momo.backend.dto.ChatDto;
+import com.momo.backend.dto.ChatSummaryDto;
+import com.momo.backend.dto.MessageDeltaDto;
 import com.momo.backend.dto.MessageDto;
 import com.momo.backend.entity.Chat;
+import com.momo.backend.entity.ChatReadCursor;
 import com.momo.backend.entity.Manager;
 import com.momo.backend.entity.Message;
 import com.momo.backend.entity.Task;
@@ -10,60 +13,99 @@ import com.momo.backend.entity.enums.ChatType;
 import com.momo.backend.entity.enums.UserRole;
 import com.momo.backend.exception.ResourceNotFoundException;
 import com.momo.backend.mapper.ChatMapper;
+import com.momo.backend.repository.ChatReadCursorRepository;
 import com.momo.backend.repository.ChatRepository;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.ManagerRepository;
 import com.momo.backend.repository.MessageRepository;
 import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.ChatFanoutPublisher;
 import com.momo.backend.service.base.AbstractSecuredService;
 import com.momo.backend.service.interfaces.ChatService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ChatServiceImple extends AbstractSecuredService implements ChatService {
 
+    // Obergrenze fuer Verlauf und Polling, unabhaengig vom Client
+    static final int DEFAULT_MESSAGE_LIMIT = 50;
+    static final int MAX_MESSAGE_LIMIT = 200;
+    static final int DEFAULT_CHAT_PAGE_SIZE = 50;
+    static final int MAX_CHAT_PAGE_SIZE = 200;
+    static final int PREVIEW_LENGTH = 200;
 
     private final ChatRepository chatRepository;
     private final MessageRepository messageRepository;
     private final EmployeeRepository employeeRepository;
     private final ManagerRepository managerRepository;
     private final ChatMapper chatMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatFanoutPublisher chatFanoutPublisher;
     private final TaskRepository taskRepository;
+    private final ChatReadCursorRepository chatReadCursorRepository;
 
     @Override
     public ChatDto createTaskGroup(Task task, Manager manager) {
+        return chatMapper.toDto(chatRepository.save(newTaskGroup(task, manager.getId())));
+    }
+
+    @Override
+    @Transactional
+    public ChatDto addMemberToTaskChat(UUID taskId, UUID memberId) {
+        Chat chat = findOrCreateTaskChat(taskId);
+        chat.getMemberIds().add(memberId);
+        return chatMapper.toDto(chatRepository.save(chat));
+    }
+
+    // Mehrere Mitglieder mit einem einzigen Update der Member-Tabelle
+    @Override
+    @Transactional
+    public ChatDto addMembersToTaskChat(UUID taskId, Collection<UUID> memberIds) {
+        Chat chat = findOrCreateTaskChat(taskId);
+        chat.getMemberIds().addAll(memberIds);
+        return chatMapper.toDto(chatRepository.save(chat));
+    }
+
+    // Fehlender Task-Chat wird angelegt statt per Exception gemeldet: eine Exception aus
+    // dieser @Transactional-Methode wuerde die Transaktion des Aufrufers rollback-only machen
+    private Chat findOrCreateTaskChat(UUID taskId) {
+        return chatRepository.findByTaskId(taskId).orElseGet(() -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            return chatRepository.save(newTaskGroup(task, task.getManager().getId()));
+        });
+    }
+
+    private Chat newTaskGroup(Task task, UUID managerId) {
         Chat chat = new Chat();
         chat.setType(ChatType.GROUP);
         chat.setTask(task);
-        chat.setManagerId(manager.getId());
+        chat.setManagerId(managerId);
         chat.setName(task.getLocation() + " - " + task.getCompany());
         Set<UUID> members = new HashSet<>();
-        members.add(manager.getId());
+        members.add(managerId);
         chat.setMemberIds(members);
         chat.setCreatedAt(LocalDateTime.now());
-        return chatMapper.toDto(chatRepository.save(chat));
-    }
-
-    @Override
-    public ChatDto addMemberToTaskChat(UUID taskId, UUID memberId) {
-        Chat chat = chatRepository.findByTaskId(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat for task not found"));
-        chat.getMemberIds().add(memberId);
-        return chatMapper.toDto(chatRepository.save(chat));
+        return chat;
     }
 
     @Override
@@ -91,26 +133,94 @@ public class ChatServiceImple extends AbstractSecuredService implements ChatServ
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ChatDto> getChatsForCurrentUser() {
-        UUID userId = getCurrentUserId();
-        return chatRepository.findAll().stream()
-                .filter(c -> c.getMemberIds().contains(userId))
+        return loadChatsForMember(getCurrentUserId(), Pageable.unpaged());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChatDto> getChatsForCurrentUser(int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_CHAT_PAGE_SIZE : Math.min(size, MAX_CHAT_PAGE_SIZE);
+        return loadChatsForMember(getCurrentUserId(), PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
+    /**
+     * Zwei Schritte: erst die Chat-IDs ueber chat_members(member_id) paginieren,
+     * dann genau diese Chats inkl. Member-Sets in einem Statement laden.
+     */
+    private List<ChatDto> loadChatsForMember(UUID userId, Pageable pageable) {
+        List<UUID> ids = chatRepository.findIdsByMemberId(userId, pageable);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Chat> byId = chatRepository.findAllWithMembersByIdIn(ids).stream()
+                .collect(Collectors.toMap(Chat::getId, Function.identity()));
+        // Reihenfolge der ID-Abfrage beibehalten
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(chatMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Liefert eine Seite des Verlaufs in aufsteigender Reihenfolge:
+     * ohne Cursor die neuesten Nachrichten, sonst die Nachrichten vor beforeId.
+     */
     @Override
-    public List<MessageDto> getMessages(UUID chatId) {
+    @Transactional(readOnly = true)
+    public List<MessageDto> getMessages(UUID chatId, UUID beforeId, int limit) {
         UUID requesterId = getCurrentUserId();
-        Chat chat = chatRepository.findById(chatId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chat not found"));
-        assertChatMember(chat, requesterId);
-        return messageRepository.findByChatIdOrderByCreatedAtAsc(chatId).stream()
+        assertChatMember(chatId, requesterId);
+
+        PageRequest page = PageRequest.of(0, clampLimit(limit));
+        List<Message> rows;
+        if (beforeId == null) {
+            rows = messageRepository.findLatest(chatId, page);
+        } else {
+            LocalDateTime beforeCreatedAt = messageRepository.findCreatedAtByIdAndChatId(beforeId, chatId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cursor message not found"));
+            rows = messageRepository.findBeforeCursor(chatId, beforeCreatedAt, beforeId, page);
+        }
+
+        List<MessageDto> messages = rows.stream()
+                .map(chatMapper::toDto)
+                .collect(Collectors.toList());
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MessageDeltaDto getMessagesSince(UUID chatId, UUID afterId, int limit) {
+        UUID requesterId = getCurrentUserId();
+        assertChatMember(chatId, requesterId);
+
+        int pageSize = clampLimit(limit);
+        // eine Zeile mehr laden, um hasMore ohne COUNT zu bestimmen
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<Message> rows;
+        if (afterId == null) {
+            rows = messageRepository.findFirstPage(chatId, page);
+        } else {
+            LocalDateTime afterCreatedAt = messageRepository.findCreatedAtByIdAndChatId(afterId, chatId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cursor message not found"));
+            rows = messageRepository.findAfterCursor(chatId, afterCreatedAt, afterId, page);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<MessageDto> messages = rows.stream()
+                .limit(pageSize)
                 .map(chatMapper::toDto)
                 .collect(Collectors.toList());
+        UUID cursor = messages.isEmpty() ? afterId : messages.get(messages.size() - 1).getId();
+        return new MessageDeltaDto(messages, cursor, hasMore);
     }
 
     @Override
+    @Transactional
     public MessageDto sendMessage(UUID chatId, String text) {
         UUID senderId = getCurrentUserId();
         String senderRole = resolveCurrentRole();
@@ -126,13 +236,46 @@ public class ChatServiceImple extends AbstractSecuredService implements ChatServ
         message.setSenderRole(senderRole);
         message.setText(text);
         message.setCreatedAt(LocalDateTime.now());
-        MessageDto dto = chatMapper.toDto(messageRepository.save(message));
-        chat.getMemberIds().forEach(member -> convertAndSendToUser(member, dto));
+        Message saved = messageRepository.save(message);
+        updateLastMessage(chat, saved);
+        MessageDto dto = chatMapper.toDto(saved);
+        // einmal serialisieren, Zustellung asynchron nach dem Commit
+        chatFanoutPublisher.publish(chat.getMemberIds(), "/queue/messages", dto);
         return dto;
     }
 
-    private void convertAndSendToUser(UUID userId, MessageDto dto) {
-        messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/messages", dto);
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChatSummaryDto> getChatSummariesForCurrentUser() {
+        return chatRepository.findSummariesForMember(getCurrentUserId());
+    }
+
+    @Override
+    @Transactional
+    public void markChatRead(UUID chatId) {
+        UUID userId = getCurrentUserId();
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Chat not found"));
+        assertChatMember(chat, userId);
+
+        ChatReadCursor cursor = chatReadCursorRepository.findByChatIdAndMemberId(chatId, userId)
+                .orElseGet(() -> {
+                    ChatReadCursor created = new ChatReadCursor();
+                    created.setChatId(chatId);
+                    created.setMemberId(userId);
+                    return created;
+                });
+        // bis zur letzten Nachricht gelesen; Chats ohne Nachricht bis jetzt
+        cursor.setLastReadAt(chat.getLastMessageAt() != null ? chat.getLastMessageAt() : LocalDateTime.now());
+        cursor.setLastReadMessageId(chat.getLastMessageId());
+        chatReadCursorRepository.save(cursor);
+    }
+
+    private void updateLastMessage(Chat chat, Message message) {
+        String text = message.getText();
+        chatRepository.updateLastMessage(chat.getId(), message.getId(),
+                text.length() > PREVIEW_LENGTH ? text.substring(0, PREVIEW_LENGTH) : text,
+                message.getSenderId(), message.getCreatedAt());
     }
 
     @Override
@@ -190,4 +333,24 @@ public class ChatServiceImple extends AbstractSecuredService implements ChatServ
             throw new AccessDeniedException("User is not part of this chat");
         }
     }
+
+    /**
+     * Mitgliedschaft per Index-Lookup pruefen, ohne Chat + Member-Collection zu laden.
+     */
+    private void assertChatMember(UUID chatId, UUID userId) {
+        if (chatRepository.isMember(chatId, userId)) {
+            return;
+        }
+        if (!chatRepository.existsById(chatId)) {
+            throw new ResourceNotFoundException("Chat not found");
+        }
+        throw new AccessDeniedException("User is not part of this chat");
+    }
+
+    private int clampLimit(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_MESSAGE_LIMIT;
+        }
+        return Math.min(limit, MAX_MESSAGE_LIMIT);
+    }
 }
@@ -0,0 +1,63 @@
+package com.momo.backend.service.implementation;
+
+import com.momo.backend.service.interfaces.CredentialService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Passwort-Hashing ausserhalb von Entity-Callbacks und Transaktionen.
+ * <p>
+ * Nutzt den gemeinsamen PasswordEncoder aus der SecurityConfig. Fuer Registrierungen
+ * und Bulk-Importe koennen mehrere Passwoerter parallel auf einem begrenzten Pool
+ * gehasht werden, damit BCrypt nicht die ganze CPU belegt.
+ */
+@Service
+public class CredentialServiceImple implements CredentialService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService hashPool;
+
+    public CredentialServiceImple(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password.hash-threads:0}") int hashThreads) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.hashPool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory());
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        if (rawPassword == null || rawPassword.isBlank()) {
+            throw new IllegalArgumentException("Password must not be empty");
+        }
+        return passwordEncoder.encode(rawPassword);
+    }
+
+    @Override
+    public List<String> hashAll(List<String> rawPasswords) {
+        if (rawPasswords.size() <= 1) {
+            return rawPasswords.stream().map(this::hash).toList();
+        }
+        List<CompletableFuture<String>> futures = rawPasswords.stream()
+                .map(raw -> CompletableFuture.supplyAsync(() -> hash(raw), hashPool))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String hash) {
+        return rawPassword != null && hash != null && passwordEncoder.matches(rawPassword, hash);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdown();
+    }
+}
@@ -13,10 +13,11 @@ import com.momo.backend.mapper.ManagerMapper;
 import com.momo.backend.mapper.UserMapper;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.ManagerRepository;
+import com.momo.backend.service.interfaces.CredentialService;
 import com.momo.backend.service.interfaces.EmployeeService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -31,7 +32,7 @@ public class EmployeeServiceImple implements EmployeeService {
     private final EmployeeMapper employeeMapper;
     private final ManagerMapper managerMapper;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final CredentialService credentialService;
 
 
     @Override
@@ -64,7 +65,7 @@ public class EmployeeServiceImple implements EmployeeService {
         employee.setFirstName(request.getFirstName());
         employee.setLastName(request.getLastName());
         employee.setEmail(request.getEmail());
-        employee.setPassword(request.getPassword());
+        employee.setPassword(credentialService.hash(request.getPassword()));
         employee.setHourlyRate(request.getHourlyRate());
         employee.setRole(UserRole.EMPLOYEE);
 
@@ -103,7 +104,9 @@ public class EmployeeServiceImple implements EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    // Manager + dessen Employees sind lazy; ohne Open-in-View hier im Service laden
     @Override
+    @Transactional(readOnly = true)
     public ManagerDto getEmployeeManager(UUID employeeId) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
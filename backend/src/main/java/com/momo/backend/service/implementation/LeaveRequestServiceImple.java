@@ -9,8 +9,10 @@ import com.momo.backend.exception.ResourceNotFoundException;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.LeaveRequestRepository;
 import com.momo.backend.repository.ManagerRepository;
+import com.momo.backend.service.AvailabilityChangedEvent;
 import com.momo.backend.service.interfaces.LeaveRequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -25,6 +27,7 @@ public class LeaveRequestServiceImple implements LeaveRequestService {
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
     private final ManagerRepository managerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public LeaveRequestDto createLeaveRequest(LeaveRequestDto dto) {
@@ -32,7 +35,7 @@ public class LeaveRequestServiceImple implements LeaveRequestService {
         fillLeaveRequest(leaveRequest, dto);
         leaveRequest.setStatus(dto.getStatus() != null ? dto.getStatus() : LeaveStatus.PENDING);
         leaveRequest.setCreatedAt(leaveRequest.getCreatedAt() != null ? leaveRequest.getCreatedAt() : LocalDateTime.now());
-        return toDto(leaveRequestRepository.save(leaveRequest));
+        return toDto(saveAndPublish(leaveRequest));
     }
 
     @Override
@@ -77,7 +80,7 @@ public class LeaveRequestServiceImple implements LeaveRequestService {
             leaveRequest.setDecidedBy(decidedBy);
         }
 
-        return toDto(leaveRequestRepository.save(leaveRequest));
+        return toDto(saveAndPublish(leaveRequest));
     }
 
     @Override
@@ -85,6 +88,13 @@ public class LeaveRequestServiceImple implements LeaveRequestService {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave request not found"));
         leaveRequestRepository.delete(leaveRequest);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.removed(leaveRequest.getId()));
+    }
+
+    private LeaveRequest saveAndPublish(LeaveRequest leaveRequest) {
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.saved(saved));
+        return saved;
     }
 
     private void fillLeaveRequest(LeaveRequest leaveRequest, LeaveRequestDto dto) {
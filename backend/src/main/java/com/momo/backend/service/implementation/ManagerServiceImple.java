@@ -13,9 +13,9 @@ import com.momo.backend.mapper.ManagerMapper;
 import com.momo.backend.mapper.UserMapper;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.ManagerRepository;
+import com.momo.backend.service.interfaces.CredentialService;
 import com.momo.backend.service.interfaces.ManagerService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,7 +33,7 @@ public class ManagerServiceImple implements ManagerService {
     private final ManagerMapper managerMapper;
     private final EmployeeMapper employeeMapper;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final CredentialService credentialService;
 
     // ----------------------
     // REGISTER
@@ -44,7 +44,7 @@ public class ManagerServiceImple implements ManagerService {
         manager.setFirstName(request.getFirstName());
         manager.setLastName(request.getLastName());
         manager.setEmail(request.getEmail());
-        manager.setPassword(request.getPassword());
+        manager.setPassword(credentialService.hash(request.getPassword()));
         manager.setRole(UserRole.MANAGER);
 
         Manager saved = managerRepository.save(manager);
@@ -62,6 +62,7 @@ public class ManagerServiceImple implements ManagerService {
     // READ
     // ----------------------
     @Override
+    @Transactional(readOnly = true)
     public ManagerDto getManagerById(UUID managerId) {
         Manager manager = managerRepository.findById(managerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Manager not found"));
@@ -69,6 +70,7 @@ public class ManagerServiceImple implements ManagerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ManagerDto getManagerByEmail(String email) {
         Manager manager = managerRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Manager not found"));
@@ -1,5 +1,6 @@
 package com.momo.backend.service.implementation;
 
+import com.momo.backend.dto.BatchAssignmentRequest;
 import com.momo.backend.dto.TaskAssignmentDto;
 import com.momo.backend.entity.CalendarEntry;
 import com.momo.backend.entity.Employee;
@@ -13,18 +14,29 @@ import com.momo.backend.mapper.TaskAssignmentMapper;
 import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.TaskAssignmentRepository;
 import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.LeaveRequestRepository;
 import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.AvailabilityChangedEvent;
+import com.momo.backend.service.EventOutbox;
 import com.momo.backend.service.base.AbstractSecuredService;
 import com.momo.backend.service.interfaces.TaskAssignmentService;
 import com.momo.backend.service.interfaces.ChatService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -42,7 +54,9 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
     private final CalendarEntryRepository calendarEntryRepository;
     private final ChatService chatService;
     private final TaskAssignmentMapper taskAssignmentMapper;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final EventOutbox eventOutbox;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============================================================
     // CREATE ASSIGNMENT - ONLY MANAGER
@@ -53,17 +67,15 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
 
         UUID managerId = requireManagerAndGetId();
 
-        Task task = taskRepository.findById(dto.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
         // Manager darf NUR seine eigenen Tasks zuweisen
-        if (!task.getManager().getId().equals(managerId)) {
-            throw new CustomAccessDeniedException("Du darfst nur deine eigenen Tasks zuweisen.");
-        }
+        Task task = taskRepository.findByIdAndManagerId(dto.getTaskId(), managerId)
+                .orElseThrow(() -> taskNotOwned(dto.getTaskId(), "Du darfst nur deine eigenen Tasks zuweisen."));
 
         Employee employee = employeeRepository.findById(dto.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
+        requireAvailable(task, List.of(employee.getId()));
+
         TaskAssignment assignment = taskAssignmentMapper.toEntity(dto);
         assignment.setTask(task);
         assignment.setEmployee(employee);
@@ -83,24 +95,74 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
     }
 
 
+    // ============================================================
+    // CREATE ASSIGNMENTS (BATCH) - ONLY MANAGER
+    // ============================================================
+    // Task wird einmal geladen, Inserts laufen gebuendelt (hibernate.jdbc.batch_size),
+    // Chat-Mitglieder werden in einem Update ergaenzt und jeder Empfaenger bekommt ein Event.
+    @Override
+    @Transactional
+    public List<TaskAssignmentDto> createAssignments(BatchAssignmentRequest request) {
+
+        UUID managerId = requireManagerAndGetId();
+
+        if (request.getEmployeeIds() == null || request.getEmployeeIds().isEmpty()) {
+            throw new IllegalArgumentException("employeeIds must not be empty");
+        }
+
+        Task task = taskRepository.findByIdAndManagerId(request.getTaskId(), managerId)
+                .orElseThrow(() -> taskNotOwned(request.getTaskId(), "Du darfst nur deine eigenen Tasks zuweisen."));
+
+        Set<UUID> employeeIds = new LinkedHashSet<>(request.getEmployeeIds());
+        Map<UUID, Employee> employees = employeeRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        if (employees.size() != employeeIds.size()) {
+            throw new ResourceNotFoundException("Employee not found");
+        }
+        requireAvailable(task, employeeIds);
+
+        AssignmentStatus status = request.getStatus() != null ? request.getStatus() : AssignmentStatus.PENDING;
+        List<TaskAssignment> assignments = new ArrayList<>(employeeIds.size());
+        for (UUID employeeId : employeeIds) {
+            TaskAssignment assignment = new TaskAssignment();
+            assignment.setTask(task);
+            assignment.setEmployee(employees.get(employeeId));
+            assignment.setStatus(status);
+            assignments.add(assignment);
+        }
+        List<TaskAssignment> saved = assignmentRepository.saveAll(assignments);
+
+        if (status == AssignmentStatus.ACCEPTED) {
+            upsertTaskCalendarEntries(task, saved);
+            if (isGroupTask(task)) {
+                ensureTaskChatMembership(task, employeeIds);
+            }
+        }
+
+        List<TaskAssignmentDto> result = saved.stream()
+                .map(taskAssignmentMapper::toDto)
+                .toList();
+        publishAssignmentEvents(managerId, result);
+        return result;
+    }
+
+
     // ============================================================
     // GET SINGLE ASSIGNMENT - MANAGER OR EMPLOYEE
     // ============================================================
     @Override
     @Transactional(readOnly = true)
     public TaskAssignmentDto getAssignment(UUID id) {
-        TaskAssignment assignment = assignmentRepository.findById(id)
+        // Eine Query liefert DTO inkl. Owner-IDs, ohne Entities zu laden
+        TaskAssignmentDto assignment = assignmentRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
 
         UUID current = getCurrentUserId();
-        UUID taskManager = assignment.getTask().getManager().getId();
-        UUID employeeId = assignment.getEmployee().getId();
-
-        if (!current.equals(taskManager) && !current.equals(employeeId)) {
+        if (!current.equals(assignment.getManagerId()) && !current.equals(assignment.getEmployeeId())) {
             throw new CustomAccessDeniedException("Kein Zugriff auf diese Assignment.");
         }
 
-        return taskAssignmentMapper.toDto(assignment);
+        return assignment;
     }
 
 
@@ -113,11 +175,8 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
 
         UUID managerId = requireManagerAndGetId();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
-        if (!task.getManager().getId().equals(managerId)) {
-            throw new CustomAccessDeniedException("Du darfst nur deine eigenen Tasks einsehen.");
+        if (!taskRepository.existsByIdAndManagerId(taskId, managerId)) {
+            throw taskNotOwned(taskId, "Du darfst nur deine eigenen Tasks einsehen.");
         }
 
         return assignmentRepository.findByTaskId(taskId).stream()
@@ -152,17 +211,22 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
     @Transactional
     public TaskAssignmentDto updateStatus(UUID id, AssignmentStatus status) {
 
-        TaskAssignment assignment = assignmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
-
         UUID current = getCurrentUserId();
-        UUID employeeId = assignment.getEmployee().getId();
+        UUID employeeId = assignmentRepository.findEmployeeIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
 
-        // Nur der Mitarbeiter selbst darf den Status aendern
+        // Nur der Mitarbeiter selbst darf den Status aendern (vor dem Laden des Graphen)
         if (!current.equals(employeeId)) {
             throw new CustomAccessDeniedException("Nur der Employee darf seinen Assignment-Status aendern.");
         }
 
+        TaskAssignment assignment = assignmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+
+        if (status == AssignmentStatus.ACCEPTED) {
+            requireAvailable(assignment.getTask(), List.of(employeeId));
+        }
+
         assignment.setStatus(status);
         assignment.setRespondedAt(LocalDateTime.now());
 
@@ -174,7 +238,7 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
             }
             upsertTaskCalendarEntry(saved);
         } else {
-            removeTaskCalendarEntry(saved);
+            removeTaskCalendarEntry(saved.getTask().getId(), saved.getEmployee().getId());
         }
         publishAssignmentEvent(saved);
 
@@ -191,18 +255,42 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
 
         UUID managerId = requireManagerAndGetId();
 
-        TaskAssignment assignment = assignmentRepository.findById(id)
+        TaskAssignmentDto assignment = assignmentRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
 
-        if (!assignment.getTask().getManager().getId().equals(managerId)) {
+        if (!managerId.equals(assignment.getManagerId())) {
             throw new CustomAccessDeniedException("Du darfst nur deine eigenen Assignments loeschen.");
         }
 
-        removeTaskCalendarEntry(assignment);
-        assignmentRepository.delete(assignment);
+        removeTaskCalendarEntry(assignment.getTaskId(), assignment.getEmployeeId());
+        assignmentRepository.deleteByIdDirect(id);
         publishAssignmentEvent(assignment);
     }
 
+    private RuntimeException taskNotOwned(UUID taskId, String deniedMessage) {
+        return taskRepository.existsById(taskId)
+                ? new CustomAccessDeniedException(deniedMessage)
+                : new ResourceNotFoundException("Task not found");
+    }
+
+    // Ueberschneidung mit anderen Terminen oder genehmigtem Urlaub -> 409;
+    // der eigene Kalendereintrag dieser Task zaehlt nicht.
+    // Geprueft wird in der DB, nicht im AvailabilityIndex (pro Instanz, kann veralten). Die
+    // Mitarbeiterzeilen bleiben bis zum Commit gesperrt, parallele Zuweisungen pruefen nacheinander.
+    private void requireAvailable(Task task, Collection<UUID> employeeIds) {
+        if (task.getStart() == null || task.getEnd() == null || !task.getStart().isBefore(task.getEnd())) {
+            return;
+        }
+        employeeRepository.lockByIds(employeeIds);
+        boolean busy = !calendarEntryRepository
+                .findBusyEmployeeIds(employeeIds, task.getStart(), task.getEnd(), task.getId()).isEmpty()
+                || !leaveRequestRepository.findEmployeeIdsOnLeave(employeeIds, task.getStart(), task.getEnd()).isEmpty();
+        if (busy) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Mitarbeiter ist im Zeitraum der Task bereits verplant oder abwesend.");
+        }
+    }
+
     private void upsertTaskCalendarEntry(TaskAssignment assignment) {
         Task task = assignment.getTask();
         UUID taskId = task.getId();
@@ -217,20 +305,49 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
         entry.setStart(task.getStart());
         entry.setEnd(task.getEnd());
 
-        calendarEntryRepository.save(entry);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.saved(calendarEntryRepository.save(entry)));
     }
 
-    private void removeTaskCalendarEntry(TaskAssignment assignment) {
-        UUID taskId = assignment.getTask().getId();
-        UUID employeeId = assignment.getEmployee().getId();
-        calendarEntryRepository.findByTaskIdAndEmployeeId(taskId, employeeId)
-                .ifPresent(calendarEntryRepository::delete);
+    // Bestehende Eintraege der Task einmal laden, neue gesammelt speichern
+    private void upsertTaskCalendarEntries(Task task, List<TaskAssignment> assignments) {
+        Map<UUID, CalendarEntry> existing = calendarEntryRepository.findByTaskId(task.getId()).stream()
+                .collect(Collectors.toMap(entry -> entry.getEmployee().getId(), Function.identity()));
+
+        List<CalendarEntry> entries = new ArrayList<>(assignments.size());
+        for (TaskAssignment assignment : assignments) {
+            CalendarEntry entry = existing.getOrDefault(assignment.getEmployee().getId(), new CalendarEntry());
+            entry.setTask(task);
+            entry.setEmployee(assignment.getEmployee());
+            entry.setType(CalendarEntryType.TASK);
+            entry.setStart(task.getStart());
+            entry.setEnd(task.getEnd());
+            entries.add(entry);
+        }
+        calendarEntryRepository.saveAll(entries)
+                .forEach(saved -> eventPublisher.publishEvent(AvailabilityChangedEvent.saved(saved)));
+    }
+
+    private void removeTaskCalendarEntry(UUID taskId, UUID employeeId) {
+        calendarEntryRepository.findByTaskIdAndEmployeeId(taskId, employeeId).ifPresent(entry -> {
+            calendarEntryRepository.delete(entry);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.removed(entry.getId()));
+        });
     }
 
     private void publishAssignmentEvent(TaskAssignment assignment) {
-        var dto = taskAssignmentMapper.toDto(assignment);
-        messagingTemplate.convertAndSendToUser(dto.getEmployeeId().toString(), "/queue/assignments", dto);
-        messagingTemplate.convertAndSendToUser(assignment.getTask().getManager().getId().toString(), "/queue/assignments", dto);
+        publishAssignmentEvent(taskAssignmentMapper.toDto(assignment));
+    }
+
+    private void publishAssignmentEvent(TaskAssignmentDto dto) {
+        eventOutbox.publish(List.of(dto.getEmployeeId(), dto.getManagerId()), "/queue/assignments", dto);
+    }
+
+    // Ein Event pro Empfaenger: jeder Employee sein Assignment, der Manager die ganze Liste
+    private void publishAssignmentEvents(UUID managerId, List<TaskAssignmentDto> dtos) {
+        for (TaskAssignmentDto dto : dtos) {
+            eventOutbox.publish(List.of(dto.getEmployeeId()), "/queue/assignments", dto);
+        }
+        eventOutbox.publish(List.of(managerId), "/queue/assignments", dtos);
     }
 
     private boolean isGroupTask(Task task) {
@@ -238,17 +355,13 @@ public class TaskAssignmentServiceImple extends AbstractSecuredService implement
     }
 
     /**
-     * Ensure task chat exists and add employee as member. If chat is missing, create it and retry.
+     * Add employee to the task chat; ChatService creates the chat if it is missing.
      */
     private void ensureTaskChatMembership(TaskAssignment assignment) {
-        Task task = assignment.getTask();
-        UUID taskId = task.getId();
-        UUID employeeId = assignment.getEmployee().getId();
-        try {
-            chatService.addMemberToTaskChat(taskId, employeeId);
-        } catch (ResourceNotFoundException ex) {
-            chatService.createTaskGroup(task, task.getManager());
-            chatService.addMemberToTaskChat(taskId, employeeId);
-        }
+        chatService.addMemberToTaskChat(assignment.getTask().getId(), assignment.getEmployee().getId());
+    }
+
+    private void ensureTaskChatMembership(Task task, Set<UUID> employeeIds) {
+        chatService.addMembersToTaskChat(task.getId(), employeeIds);
     }
 }
@@ -1,22 +1,31 @@
 package com.momo.backend.service.implementation;
 
+import com.momo.backend.dto.TaskCandidateDto;
 import com.momo.backend.dto.TaskDto;
 import com.momo.backend.entity.Manager;
 import com.momo.backend.entity.Task;
 import com.momo.backend.exception.CustomAccessDeniedException;
 import com.momo.backend.exception.ResourceNotFoundException;
 import com.momo.backend.mapper.TaskMapper;
+import com.momo.backend.repository.EmployeeRepository;
 import com.momo.backend.repository.ManagerRepository;
 import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.TaskAssignmentRepository;
 import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.AvailabilityChangedEvent;
+import com.momo.backend.service.AvailabilityIndex;
 import com.momo.backend.service.base.AbstractSecuredService;
 import com.momo.backend.service.interfaces.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -32,10 +41,26 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TaskServiceImple extends AbstractSecuredService implements TaskService {
 
+    private static final int MAX_CANDIDATES = 200;
+
+    // Frei vor blockiert, Urlaub ganz hinten, dann wenig Konflikte, verfuegbar, guenstig
+    private static final Comparator<TaskCandidateDto> CANDIDATE_ORDER = Comparator
+            .comparing(TaskCandidateDto::isFree).reversed()
+            .thenComparing(TaskCandidateDto::isOnLeave)
+            .thenComparingInt(TaskCandidateDto::getConflictCount)
+            .thenComparing(TaskCandidateDto::isAvailable, Comparator.reverseOrder())
+            .thenComparing(TaskCandidateDto::getHourlyRate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskCandidateDto::getLastName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskCandidateDto::getFirstName, Comparator.nullsLast(Comparator.naturalOrder()));
+
     private final TaskRepository taskRepository;
     private final ManagerRepository managerRepository;
     private final CalendarEntryRepository calendarEntryRepository;
     private final TaskMapper taskMapper;
+    private final EmployeeRepository employeeRepository;
+    private final TaskAssignmentRepository assignmentRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ============================================================
     // CREATE
@@ -63,14 +88,9 @@ public class TaskServiceImple extends AbstractSecuredService implements TaskServ
     @Override
     @Transactional(readOnly = true)
     public TaskDto getTask(UUID id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
         // Nur der verantwortliche Manager darf die Details sehen
         UUID currentManager = requireManagerAndGetId();
-        if (!task.getManager().getId().equals(currentManager)) {
-            throw new CustomAccessDeniedException("Du darfst nur deine eigenen Tasks sehen.");
-        }
+        Task task = loadOwnedTask(id, currentManager, "Du darfst nur deine eigenen Tasks sehen.");
 
         return taskMapper.toDto(task);
     }
@@ -99,13 +119,8 @@ public class TaskServiceImple extends AbstractSecuredService implements TaskServ
     @Override
     @Transactional
     public TaskDto updateTask(UUID id, TaskDto dto) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
         UUID currentManager = requireManagerAndGetId();
-        if (!task.getManager().getId().equals(currentManager)) {
-            throw new CustomAccessDeniedException("Du darfst nur deine eigenen Tasks bearbeiten.");
-        }
+        Task task = loadOwnedTask(id, currentManager, "Du darfst nur deine eigenen Tasks bearbeiten.");
 
         validate(dto);
 
@@ -131,20 +146,60 @@ public class TaskServiceImple extends AbstractSecuredService implements TaskServ
     @Override
     @Transactional
     public void deleteTask(UUID id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
         UUID currentManager = requireManagerAndGetId();
-        if (!task.getManager().getId().equals(currentManager)) {
-            throw new CustomAccessDeniedException("Du darfst nur deine eigenen Tasks loeschen.");
-        }
+        Task task = loadOwnedTask(id, currentManager, "Du darfst nur deine eigenen Tasks loeschen.");
 
-        calendarEntryRepository.findByTaskId(id)
-                .forEach(calendarEntryRepository::delete);
+        calendarEntryRepository.findByTaskId(id).forEach(entry -> {
+            calendarEntryRepository.delete(entry);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.removed(entry.getId()));
+        });
 
         taskRepository.delete(task);
     }
 
+    // ============================================================
+    // CANDIDATES
+    // ============================================================
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskCandidateDto> getCandidates(UUID taskId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        UUID currentManager = requireManagerAndGetId();
+        Task task = loadOwnedTask(taskId, currentManager, "Du darfst nur deine eigenen Tasks besetzen.");
+
+        // Zwei schlanke Queries, Zeitraum-Pruefung komplett gegen den AvailabilityIndex
+        Set<UUID> alreadyAssigned = new HashSet<>(assignmentRepository.findEmployeeIdsByTaskId(taskId));
+        List<TaskCandidateDto> candidates = employeeRepository.findCandidatesByManagerId(currentManager);
+
+        return candidates.stream()
+                .filter(candidate -> !alreadyAssigned.contains(candidate.getEmployeeId()))
+                .map(candidate -> rate(candidate, task))
+                .sorted(CANDIDATE_ORDER)
+                .limit(Math.min(limit, MAX_CANDIDATES))
+                .toList();
+    }
+
+    private TaskCandidateDto rate(TaskCandidateDto candidate, Task task) {
+        List<AvailabilityIndex.Slot> conflicts = availabilityIndex.findConflicts(
+                candidate.getEmployeeId(), task.getStart(), task.getEnd(), task.getId());
+        candidate.setConflictCount(conflicts.size());
+        candidate.setFree(conflicts.isEmpty());
+        candidate.setOnLeave(conflicts.stream().anyMatch(slot -> slot.kind() == AvailabilityIndex.Kind.LEAVE));
+        return candidate;
+    }
+
+    // OWNERSHIP
+    // ============================================================
+    // Ownership wird in der Query geprueft; 404 vs. 403 nur im Fehlerfall unterscheiden
+    private Task loadOwnedTask(UUID id, UUID managerId, String deniedMessage) {
+        return taskRepository.findByIdAndManagerId(id, managerId)
+                .orElseThrow(() -> taskRepository.existsById(id)
+                        ? new CustomAccessDeniedException(deniedMessage)
+                        : new ResourceNotFoundException("Task not found"));
+    }
+
     // VALIDATION
     // ============================================================
     private void validate(TaskDto dto) {
@@ -160,7 +215,7 @@ public class TaskServiceImple extends AbstractSecuredService implements TaskServ
         calendarEntryRepository.findByTaskId(task.getId()).forEach(entry -> {
             entry.setStart(task.getStart());
             entry.setEnd(task.getEnd());
-            calendarEntryRepository.save(entry);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.saved(calendarEntryRepository.save(entry)));
         });
     }
 }
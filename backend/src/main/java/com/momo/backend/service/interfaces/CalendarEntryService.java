@@ -4,6 +4,7 @@ import com.momo.backend.dto.CalendarEntryDto;
 import com.momo.backend.dto.CalendarEventDto;
 import com.momo.backend.entity.enums.CalendarEntryType;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,7 +17,7 @@ public interface CalendarEntryService {
     CalendarEntryDto updateEntry(UUID id, CalendarEntryDto dto);
     void deleteEntry(UUID id);
 
-    List<CalendarEventDto> getEventsForCurrentEmployee();
+    List<CalendarEventDto> getEventsForCurrentEmployee(LocalDateTime from, LocalDateTime to);
 
-    List<CalendarEventDto> getEventsForCurrentManager();
+    List<CalendarEventDto> getEventsForCurrentManager(LocalDateTime from, LocalDateTime to);
 }
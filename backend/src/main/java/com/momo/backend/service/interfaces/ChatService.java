@@ -1,20 +1,28 @@
 package com.momo.backend.service.interfaces;
 
 import com.momo.backend.dto.ChatDto;
+import com.momo.backend.dto.ChatSummaryDto;
+import com.momo.backend.dto.MessageDeltaDto;
 import com.momo.backend.dto.MessageDto;
 import com.momo.backend.entity.Manager;
 import com.momo.backend.entity.Task;
 import com.momo.backend.entity.enums.ChatType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ChatService {
     ChatDto createTaskGroup(Task task, Manager manager);
     ChatDto addMemberToTaskChat(UUID taskId, UUID memberId);
+    ChatDto addMembersToTaskChat(UUID taskId, Collection<UUID> memberIds);
     ChatDto createGroupChat(ChatDto dto, UUID taskId);
     ChatDto createDirectChat(UUID managerId, UUID employeeId);
     List<ChatDto> getChatsForCurrentUser();
-    List<MessageDto> getMessages(UUID chatId);
+    List<ChatDto> getChatsForCurrentUser(int page, int size);
+    List<MessageDto> getMessages(UUID chatId, UUID beforeId, int limit);
+    MessageDeltaDto getMessagesSince(UUID chatId, UUID afterId, int limit);
     MessageDto sendMessage(UUID chatId, String text);
+    List<ChatSummaryDto> getChatSummariesForCurrentUser();
+    void markChatRead(UUID chatId);
 }
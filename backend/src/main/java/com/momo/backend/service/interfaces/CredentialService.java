@@ -0,0 +1,9 @@
+package com.momo.backend.service.interfaces;
+
+import java.util.List;
+
+public interface CredentialService {
+    String hash(String rawPassword);
+    List<String> hashAll(List<String> rawPasswords);
+    boolean matches(String rawPassword, String hash);
+}
@@ -1,5 +1,6 @@
 package com.momo.backend.service.interfaces;
 
+import com.momo.backend.dto.BatchAssignmentRequest;
 import com.momo.backend.dto.TaskAssignmentDto;
 import com.momo.backend.entity.enums.AssignmentStatus;
 
@@ -8,6 +9,7 @@ import java.util.UUID;
 
 public interface TaskAssignmentService {
     TaskAssignmentDto createAssignment(TaskAssignmentDto dto);
+    List<TaskAssignmentDto> createAssignments(BatchAssignmentRequest request);
     TaskAssignmentDto getAssignment(UUID id);
     List<TaskAssignmentDto> getAssignmentsForTask(UUID taskId);
     List<TaskAssignmentDto> getAssignmentsForEmployee(UUID employeeId);
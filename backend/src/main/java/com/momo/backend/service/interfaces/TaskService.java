@@ -1,5 +1,6 @@
 package com.momo.backend.service.interfaces;
 
+import com.momo.backend.dto.TaskCandidateDto;
 import com.momo.backend.dto.TaskDto;
 
 import java.util.List;
@@ -11,4 +12,5 @@ public interface TaskService {
     List<TaskDto> getTasksByManager(UUID managerId);
     TaskDto updateTask(UUID id, TaskDto dto);
     void deleteTask(UUID id);
+    List<TaskCandidateDto> getCandidates(UUID taskId, int limit);
 }
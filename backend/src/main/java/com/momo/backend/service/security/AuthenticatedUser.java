@@ -0,0 +1,40 @@
+package com.momo.backend.service.security;
+
+import com.momo.backend.entity.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal eines per JWT authentifizierten Users.
+ * <p>
+ * Wird einmal pro Token aus den Claims gebaut (und mit ihnen gecacht) und als Principal
+ * in die Authentication gelegt. Services lesen ID und Rollen direkt daraus, ohne pro
+ * Aufruf UUIDs zu parsen oder Authorities zu durchsuchen.
+ * getName() liefert die User-ID, damit STOMP-User-Destinations weiter ueber die UUID laufen.
+ *
+ * @param id          ID des Users
+ * @param roles       Rollen des Users
+ * @param authorities Spring-Authorities ("ROLE_<ROLE>")
+ */
+public record AuthenticatedUser(UUID id, EnumSet<UserRole> roles, List<GrantedAuthority> authorities)
+        implements Principal {
+
+    public static AuthenticatedUser of(UUID id, UserRole role) {
+        return new AuthenticatedUser(id, EnumSet.of(role),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    }
+
+    public boolean hasRole(UserRole role) {
+        return roles.contains(role);
+    }
+
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
@@ -1,6 +1,5 @@
 package com.momo.backend.service.security;
 
-import com.momo.backend.entity.enums.UserRole;
 import com.momo.backend.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,8 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,12 +15,15 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource kann keinen Header setzen; dort kommt ein Stream-Token als Query-Parameter
+    static final String STREAM_PATH = "/api/events/stream";
+    static final String STREAM_TOKEN_PARAM = "token";
+
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
 
@@ -33,29 +33,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String token = trimBearer(request);
+        String streamToken = token == null ? streamToken(request) : null;
+
+        AuthenticatedUser principal = null;
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (token != null) {
+                principal = tokenProvider.resolvePrincipal(token).orElse(null);
+            } else if (streamToken != null) {
+                principal = tokenProvider.resolveStreamPrincipal(streamToken).orElse(null);
+                token = streamToken;
+            }
+        }
 
-        if (token != null &&
-                tokenProvider.validateToken(token) &&
-                SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            // Claims lesen
-            var claims = tokenProvider.parseClaims(token);
-
-            String uid = claims.get("uid", String.class);
-            String roleStr = claims.get("role", String.class);
-
-            // Enum-Rolle aus String erzeugen
-            UserRole role = UserRole.valueOf(roleStr);
-
-            // Authorities erzeugen
-            List<GrantedAuthority> authorities = mapRoleToAuthorities(role);
-
+        if (principal != null) {
             // Authentication bauen
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            uid,        // principal = userId
-                            token,      // credentials = JWT
-                            authorities // ROLE_MANAGER / ROLE_EMPLOYEE
+                            principal,                 // principal = User-ID + Rollen (aus JWT)
+                            token,                     // credentials = JWT
+                            principal.authorities()    // ROLE_MANAGER / ROLE_EMPLOYEE
                     );
 
             authentication.setDetails(
@@ -68,11 +64,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    // Rolle → Spring Authorities
-    public List<GrantedAuthority> mapRoleToAuthorities(UserRole role) {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
-    }
-
     private String trimBearer(HttpServletRequest request) {
         String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -80,4 +71,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    private String streamToken(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !STREAM_PATH.equals(request.getServletPath())) {
+            return null;
+        }
+        String token = request.getParameter(STREAM_TOKEN_PARAM);
+        return StringUtils.hasText(token) ? token : null;
+    }
 }
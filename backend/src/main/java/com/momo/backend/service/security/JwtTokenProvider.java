@@ -1,6 +1,8 @@
 package com.momo.backend.service.security;
 
+import com.momo.backend.entity.enums.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -8,19 +10,46 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Erstellt und prueft JWTs.
+ * <p>
+ * Geprueft wird mit einem einzigen, thread-sicheren Parser. Bereits verifizierte
+ * Claims landen in einem begrenzten Cache (Schluessel = SHA-256 des Tokens) und
+ * gelten dort bis zum exp-Claim, sodass wiederholte Requests mit demselben Token
+ * weder Signatur pruefen noch JSON parsen muessen. Der daraus gebaute
+ * {@link AuthenticatedUser} wird mit gecacht.
+ * <p>
+ * Stream-Tokens (scope=stream) sind kurzlebig und gelten nur fuer den SSE-Endpunkt, weil
+ * EventSource keinen Authorization-Header senden kann und das Token in der URL steht.
+ */
 @Component
 public class JwtTokenProvider {
 
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String STREAM_SCOPE = "stream";
+
     @Value("${JWT_SECRET}")
     private String secret;
 
     @Value("${JWT_TTL}") // 24h default
     private long  expirationMs;
 
+    @Value("${jwt.stream-token.ttl-ms:60000}")
+    private long streamTokenTtlMs;
+
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+
     private SecretKey key;
+    private JwtParser parser;
+
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
 
     @PostConstruct
     void init() {
@@ -38,6 +67,7 @@ public class JwtTokenProvider {
             keyBytes = Arrays.copyOf(keyBytes, 32);
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(String email, Map<String, Object> claims) {
@@ -54,12 +84,65 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Kurzlebiges Token fuer den SSE-Endpunkt; mit dem Authorization-Header nicht nutzbar.
+     */
+    public String generateStreamToken(AuthenticatedUser user) {
+        Date now = new Date();
+
+        return Jwts.builder()
+                .subject(user.getName())
+                .claim("uid", user.getName())
+                .claim("role", user.roles().iterator().next().name())
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + streamTokenTtlMs))
+                .signWith(key)
+                .compact();
+    }
+
+    public long getStreamTokenTtlMs() {
+        return streamTokenTtlMs;
+    }
+
     public boolean validateToken(String token) {
+        return resolveClaims(token).isPresent();
+    }
+
+    /**
+     * Liefert die verifizierten Claims oder leer, wenn das Token ungueltig/abgelaufen ist.
+     */
+    public Optional<Claims> resolveClaims(String token) {
+        try {
+            return Optional.of(parseClaims(token));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Liefert den Principal (User-ID + Rollen) oder leer, wenn Token oder Claims ungueltig sind.
+     */
+    public Optional<AuthenticatedUser> resolvePrincipal(String token) {
+        return resolvePrincipal(token, null);
+    }
+
+    /**
+     * Wie {@link #resolvePrincipal(String)}, akzeptiert aber nur Stream-Tokens.
+     */
+    public Optional<AuthenticatedUser> resolveStreamPrincipal(String token) {
+        return resolvePrincipal(token, STREAM_SCOPE);
+    }
+
+    private Optional<AuthenticatedUser> resolvePrincipal(String token, String scope) {
         try {
-            parseClaims(token);
-            return true;
+            CachedClaims verified = verify(token);
+            if (!Objects.equals(scope, verified.claims().get(SCOPE_CLAIM, String.class))) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(verified.principal());
         } catch (Exception ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
@@ -72,10 +155,74 @@ public class JwtTokenProvider {
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verify(token).claims();
+    }
+
+    private CachedClaims verify(String token) {
+        String cacheKey = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached;
+            }
+            claimsCache.remove(cacheKey);
+        }
+
+        // Wirft bei falscher Signatur oder abgelaufenem Token
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        CachedClaims verified = new CachedClaims(claims, toPrincipal(claims),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        if (expiration != null) {
+            cache(cacheKey, verified);
+        }
+        return verified;
+    }
+
+    // null, wenn uid/role fehlen oder ungueltig sind
+    private static AuthenticatedUser toPrincipal(Claims claims) {
+        String uid = claims.get("uid", String.class);
+        String role = claims.get("role", String.class);
+        if (uid == null || role == null) {
+            return null;
+        }
+        try {
+            return AuthenticatedUser.of(UUID.fromString(uid), UserRole.valueOf(role));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void cache(String cacheKey, CachedClaims entry) {
+        if (claimsCache.size() >= claimsCacheMaxEntries) {
+            evict();
+        }
+        claimsCache.put(cacheKey, entry);
+    }
+
+    // Erst abgelaufene Eintraege entfernen; reicht das nicht, beliebige bis auf 90% der Grenze,
+    // damit der volle Scan nur alle ~10% neuer Tokens laeuft statt bei jedem
+    private void evict() {
+        long now = System.currentTimeMillis();
+        claimsCache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int lowWaterMark = Math.min(claimsCacheMaxEntries * 9 / 10, claimsCacheMaxEntries - 1);
+        Iterator<String> keys = claimsCache.keySet().iterator();
+        while (claimsCache.size() > lowWaterMark && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
     }
+
+    private record CachedClaims(Claims claims, AuthenticatedUser principal, long expiresAtMillis) {}
 }
@@ -0,0 +1,121 @@
+-- Ausgangsschema, wie es bisher per ddl-auto=update entstanden ist.
+-- Bestehende Datenbanken werden auf Version 1 gebaselined und ueberspringen dieses Skript.
+
+create table users (
+    id uuid not null,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('MANAGER', 'EMPLOYEE')),
+    primary key (id)
+);
+
+create table managers (
+    id uuid not null,
+    primary key (id),
+    constraint fk_managers_user foreign key (id) references users
+);
+
+create table employees (
+    availability boolean not null,
+    hourly_rate float(53),
+    id uuid not null,
+    manager_id uuid,
+    primary key (id),
+    constraint fk_employees_user foreign key (id) references users,
+    constraint fk_employees_manager foreign key (manager_id) references managers
+);
+
+create table tasks (
+    required_employees integer not null,
+    end_time timestamp(6) not null,
+    response_deadline timestamp(6),
+    start_time timestamp(6) not null,
+    id uuid not null,
+    manager_id uuid not null,
+    company varchar(255) not null,
+    location varchar(255) not null,
+    primary key (id),
+    constraint fk_tasks_manager foreign key (manager_id) references managers
+);
+
+create table task_assignments (
+    responded_at timestamp(6),
+    employee_id uuid not null,
+    id uuid not null,
+    task_id uuid not null,
+    status varchar(255) check (status in ('PENDING', 'ACCEPTED', 'DECLINED', 'EXPIRED')),
+    primary key (id),
+    constraint fk_task_assignments_employee foreign key (employee_id) references employees,
+    constraint fk_task_assignments_task foreign key (task_id) references tasks
+);
+
+create table calendar_entries (
+    end_time timestamp(6) not null,
+    start_time timestamp(6) not null,
+    employee_id uuid not null,
+    id uuid not null,
+    task_id uuid,
+    type varchar(255) not null check (type in ('TASK', 'VACATION', 'SICK', 'BLOCKED')),
+    primary key (id),
+    constraint fk_calendar_entries_employee foreign key (employee_id) references employees,
+    constraint fk_calendar_entries_task foreign key (task_id) references tasks
+);
+
+create table leave_requests (
+    created_at timestamp(6),
+    decided_at timestamp(6),
+    end_date timestamp(6) not null,
+    start_date timestamp(6) not null,
+    decided_by_id uuid,
+    employee_id uuid not null,
+    id uuid not null,
+    reason varchar(255),
+    status varchar(255) not null check (status in ('PENDING', 'APPROVED', 'REJECTED')),
+    primary key (id),
+    constraint fk_leave_requests_decided_by foreign key (decided_by_id) references managers,
+    constraint fk_leave_requests_employee foreign key (employee_id) references employees
+);
+
+create table requests (
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    employee_id uuid not null,
+    id uuid not null,
+    manager_id uuid not null,
+    message varchar(500),
+    status varchar(255) not null check (status in ('PENDING', 'APPROVED', 'REJECTED')),
+    primary key (id),
+    constraint fk_requests_employee foreign key (employee_id) references employees,
+    constraint fk_requests_manager foreign key (manager_id) references managers
+);
+
+create table chats (
+    created_at timestamp(6) not null,
+    id uuid not null,
+    manager_id uuid not null,
+    task_id uuid unique,
+    name varchar(255) not null,
+    type varchar(255) not null check (type in ('DIRECT', 'GROUP')),
+    primary key (id),
+    constraint fk_chats_task foreign key (task_id) references tasks
+);
+
+create table chat_members (
+    chat_id uuid not null,
+    member_id uuid not null,
+    primary key (chat_id, member_id),
+    constraint fk_chat_members_chat foreign key (chat_id) references chats
+);
+
+create table messages (
+    created_at timestamp(6) not null,
+    chat_id uuid not null,
+    id uuid not null,
+    sender_id uuid not null,
+    sender_role varchar(50) not null,
+    text varchar(2000) not null,
+    primary key (id),
+    constraint fk_messages_chat foreign key (chat_id) references chats
+);
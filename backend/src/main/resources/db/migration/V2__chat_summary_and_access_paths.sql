@@ -0,0 +1,54 @@
+-- Erweiterungen seit dem Ausgangsschema (V1) und Indizes fuer die Zugriffspfade der
+-- Repositories. "if not exists", weil aeltere Datenbanken einzelne davon schon per
+-- ddl-auto bekommen haben koennen.
+
+-- Denormalisierte letzte Nachricht pro Chat fuer die Inbox
+alter table chats add column if not exists last_message_at timestamp(6);
+alter table chats add column if not exists last_message_id uuid;
+alter table chats add column if not exists last_message_sender_id uuid;
+alter table chats add column if not exists last_message_preview varchar(200);
+
+-- Lesestand pro Chat und Mitglied (ungelesene Nachrichten)
+create table if not exists chat_read_cursors (
+    last_read_at timestamp(6) not null,
+    chat_id uuid not null,
+    id uuid not null,
+    last_read_message_id uuid,
+    member_id uuid not null,
+    primary key (id),
+    constraint uk_chat_read_cursors_chat_member unique (chat_id, member_id)
+);
+
+-- Nachrichten eines Chats in Cursor-Reihenfolge (Delta und Verlauf)
+create index if not exists idx_messages_chat_created_id on messages (chat_id, created_at, id);
+
+-- Kalendereintraege eines Mitarbeiters im Zeitfenster
+create index if not exists idx_calendar_entries_employee_range on calendar_entries (employee_id, start_time, end_time);
+
+-- Chats eines Mitglieds: member_id zuerst, chat_id im Index -> Index-Only-Scan
+-- (ersetzt den frueheren idx_chat_members_member, falls per ddl-auto angelegt)
+create index if not exists idx_chat_members_member_chat on chat_members (member_id, chat_id);
+drop index if exists idx_chat_members_member;
+
+-- Assignments pro Task (inkl. Lookup Task + Employee) und pro Employee
+create index if not exists idx_task_assignments_task_employee on task_assignments (task_id, employee_id);
+create index if not exists idx_task_assignments_employee on task_assignments (employee_id);
+
+-- Team eines Managers (Kandidaten, Kalender, Urlaub per Join ueber employees)
+create index if not exists idx_employees_manager on employees (manager_id);
+
+-- Tasks eines Managers, zeitlich sortiert
+create index if not exists idx_tasks_manager_start on tasks (manager_id, start_time);
+
+-- Task-Kalendereintraege (Sync bei Task-Update, Upsert pro Assignment)
+create index if not exists idx_calendar_entries_task_employee on calendar_entries (task_id, employee_id);
+
+-- Urlaub pro Mitarbeiter und genehmigter Urlaub fuer den AvailabilityIndex
+create index if not exists idx_leave_requests_employee_start on leave_requests (employee_id, start_date);
+create index if not exists idx_leave_requests_status_end on leave_requests (status, end_date);
+
+-- Requests pro Manager (inkl. Duplikat-Check Manager + Employee) und pro Employee
+create index if not exists idx_requests_manager_employee on requests (manager_id, employee_id);
+create index if not exists idx_requests_employee on requests (employee_id);
+
+-- Nachrichten-Cursor pro Chat und Mitglied ist schon ueber uk_chat_read_cursors_chat_member abgedeckt
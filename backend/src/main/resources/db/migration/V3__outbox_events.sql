@@ -0,0 +1,10 @@
+-- Transactional Outbox fuer STOMP-Events; Zeilen werden nach der Zustellung geloescht
+create table outbox_events (
+    attempts integer not null default 0,
+    created_at timestamp(6) not null,
+    id uuid not null,
+    recipient_id uuid not null,
+    destination varchar(100) not null,
+    payload text not null,
+    primary key (id)
+);
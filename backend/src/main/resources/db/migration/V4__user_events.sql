@@ -0,0 +1,13 @@
+-- Ausgelagerte Events des per-User-Eventlogs; werden nach Ablauf der Aufbewahrungszeit geloescht
+create table user_events (
+    created_at timestamp(6) not null,
+    seq bigint not null,
+    id uuid not null,
+    user_id uuid not null,
+    destination varchar(100) not null,
+    payload text not null,
+    primary key (id),
+    constraint uk_user_events_user_seq unique (user_id, seq)
+);
+
+create index idx_user_events_created on user_events (created_at);
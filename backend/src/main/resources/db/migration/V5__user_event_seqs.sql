@@ -0,0 +1,10 @@
+-- Gemeinsamer seq-Zaehler pro User, damit mehrere Instanzen keine seq doppelt vergeben
+create table user_event_seqs (
+    last_seq bigint not null,
+    user_id uuid not null,
+    primary key (user_id)
+);
+
+-- Bestehende Nummerierung fortsetzen
+insert into user_event_seqs (last_seq, user_id)
+select max(seq), user_id from user_events group by user_id;
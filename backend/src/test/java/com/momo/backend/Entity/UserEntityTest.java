@@ -10,8 +10,9 @@ class UserEntityTest {
 
     static class FakeUser extends User {}
 
+    // Hashing liegt im CredentialService; der Callback darf das Passwort nicht anfassen
     @Test
-    void testPasswordGetsHashedWhenSaving() {
+    void testPasswordIsNotHashedWhenSaving() {
         FakeUser user = new FakeUser();
         user.setFirstName("Max");
         user.setLastName("Mustermann");
@@ -20,8 +21,7 @@ class UserEntityTest {
 
         ReflectionTestUtils.invokeMethod(user, "prepareForSave");
 
-        assertNotEquals("1234", user.getPassword());
-        assertTrue(user.getPassword().startsWith("$2"));
+        assertEquals("1234", user.getPassword());
     }
 
     @Test
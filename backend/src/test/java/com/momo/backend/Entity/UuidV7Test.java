@@ -0,0 +1,47 @@
+package com.momo.backend.Entity;
+
+import com.momo.backend.entity.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void testVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.randomUuid();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(UuidV7.timestamp(id) >= before);
+        // +1, falls der Zaehler in die naechste Millisekunde vorgezogen wurde
+        assertTrue(UuidV7.timestamp(id) <= after + 1);
+    }
+
+    @Test
+    void testIdsAreStrictlyIncreasingAndUnique() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidV7.randomUuid());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            // Vergleich als vorzeichenlose Bytefolge, wie ihn Postgres fuer uuid nutzt
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                    ids.get(i).getMostSignificantBits()) < 0, "not increasing at " + i);
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void testTimestampRejectsRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}
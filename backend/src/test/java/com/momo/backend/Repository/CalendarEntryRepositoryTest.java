@@ -1,8 +1,12 @@
 package com.momo.backend.Repository;
 
+import com.momo.backend.dto.AvailabilitySlotDto;
+import com.momo.backend.dto.CalendarEventDto;
 import com.momo.backend.entity.*;
+import com.momo.backend.entity.enums.AssignmentStatus;
 import com.momo.backend.entity.enums.CalendarEntryType;
 import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.TaskRepository;
 import com.momo.backend.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +27,12 @@ class CalendarEntryRepositoryTest {
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private static final LocalDateTime ALL_FROM = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime ALL_TO = LocalDateTime.of(2100, 1, 1, 0, 0);
+
     private Manager createManager(String name) {
         Manager m = new Manager();
         m.setFirstName(name);
@@ -94,4 +104,133 @@ class CalendarEntryRepositoryTest {
             calRepo.flush();
         });
     }
+
+    @Test
+    void testFindEventsByManagerIdProjectsEmployeeAndTask() {
+        Manager m = createManager("BossEvents");
+        Employee e1 = createEmployee("Eva", m);
+        Employee e2 = createEmployee("Paul", m);
+
+        Task task = new Task();
+        task.setManager(m);
+        task.setLocation("Berlin");
+        task.setCompany("Momo GmbH");
+        task.setRequiredEmployees(1);
+        task.setStart(LocalDateTime.now().plusDays(1));
+        task.setEnd(LocalDateTime.now().plusDays(1).plusHours(4));
+        task.setResponseDeadline(LocalDateTime.now().plusHours(12));
+        taskRepo.save(task);
+
+        CalendarEntry taskEntry = createEntry(e1, CalendarEntryType.TASK);
+        taskEntry.setTask(task);
+        calRepo.save(taskEntry);
+        createEntry(e2, CalendarEntryType.VACATION);
+        createEntry(createEmployee("Fremd", createManager("OtherBoss")), CalendarEntryType.SICK);
+
+        List<CalendarEventDto> result = calRepo.findEventsByManagerId(m.getId(), ALL_FROM, ALL_TO);
+
+        assertEquals(2, result.size());
+        CalendarEventDto withTask = result.stream()
+                .filter(ev -> ev.getTaskId() != null).findFirst().orElseThrow();
+        assertEquals("Eva Worker", withTask.getEmployeeName());
+        assertEquals("Berlin", withTask.getLocation());
+        assertEquals("Momo GmbH", withTask.getCompany());
+        assertEquals(AssignmentStatus.ACCEPTED, withTask.getAssignmentStatus());
+
+        CalendarEventDto vacation = result.stream()
+                .filter(ev -> ev.getTaskId() == null).findFirst().orElseThrow();
+        assertEquals(e2.getId(), vacation.getEmployeeId());
+        assertNull(vacation.getLocation());
+        assertNull(vacation.getAssignmentStatus());
+    }
+
+    @Test
+    void testFindEventsByEmployeeId() {
+        Manager m = createManager("BossSingle");
+        Employee e = createEmployee("Single", m);
+        createEntry(e, CalendarEntryType.SICK);
+        createEntry(createEmployee("Other", m), CalendarEntryType.SICK);
+
+        List<CalendarEventDto> result = calRepo.findEventsByEmployeeId(e.getId(), ALL_FROM, ALL_TO);
+
+        assertEquals(1, result.size());
+        assertEquals(CalendarEntryType.SICK, result.getFirst().getType());
+    }
+
+    @Test
+    void testFindEventsByEmployeeIdOnlyReturnsOverlappingRange() {
+        Employee e = createEmployee("Range", createManager("BossRange"));
+        LocalDateTime monthStart = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime monthEnd = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+        createEntryAt(e, monthStart.minusDays(10), monthStart.minusDays(9));      // davor
+        createEntryAt(e, monthStart.minusHours(2), monthStart.plusHours(2));      // ragt hinein
+        createEntryAt(e, monthStart.plusDays(10), monthStart.plusDays(11));       // mittendrin
+        createEntryAt(e, monthEnd, monthEnd.plusHours(3));                         // beginnt am Ende
+
+        List<CalendarEventDto> result = calRepo.findEventsByEmployeeId(e.getId(), monthStart, monthEnd);
+
+        assertEquals(2, result.size());
+        assertEquals(monthStart.minusHours(2), result.get(0).getStart());
+        assertEquals(monthStart.plusDays(10), result.get(1).getStart());
+    }
+
+    @Test
+    void testFindSlotsEndingAfterKeepsEntriesWithoutTask() {
+        Employee e = createEmployee("Slots", createManager("BossSlots"));
+        LocalDateTime since = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+        createEntryAt(e, since.minusDays(2), since.minusDays(1));   // vorbei
+        createEntryAt(e, since.minusHours(1), since.plusHours(1));  // laeuft noch
+
+        List<AvailabilitySlotDto> result = calRepo.findSlotsEndingAfter(since);
+
+        assertEquals(1, result.size());
+        assertEquals(e.getId(), result.getFirst().getEmployeeId());
+        assertNull(result.getFirst().getTaskId());
+        assertEquals(since.minusHours(1), result.getFirst().getStart());
+    }
+
+    @Test
+    void testFindBusyEmployeeIdsIgnoresOwnTaskAndNonOverlappingEntries() {
+        Manager m = createManager("BossBusy");
+        Employee blocked = createEmployee("Blocked", m);
+        Employee ownTask = createEmployee("OwnTask", m);
+        Employee later = createEmployee("Later", m);
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 8, 0);
+        LocalDateTime to = from.plusHours(8);
+
+        Task task = new Task();
+        task.setManager(m);
+        task.setLocation("Berlin");
+        task.setCompany("Momo GmbH");
+        task.setRequiredEmployees(2);
+        task.setStart(from);
+        task.setEnd(to);
+        taskRepo.save(task);
+
+        createEntryAt(blocked, from.minusHours(1), from.plusHours(1));
+        CalendarEntry own = new CalendarEntry();
+        own.setEmployee(ownTask);
+        own.setTask(task);
+        own.setType(CalendarEntryType.TASK);
+        own.setStart(from);
+        own.setEnd(to);
+        calRepo.save(own);
+        createEntryAt(later, to, to.plusHours(2));
+
+        List<UUID> busy = calRepo.findBusyEmployeeIds(
+                List.of(blocked.getId(), ownTask.getId(), later.getId()), from, to, task.getId());
+
+        assertEquals(List.of(blocked.getId()), busy);
+    }
+
+    private void createEntryAt(Employee e, LocalDateTime start, LocalDateTime end) {
+        CalendarEntry ce = new CalendarEntry();
+        ce.setEmployee(e);
+        ce.setType(CalendarEntryType.VACATION);
+        ce.setStart(start);
+        ce.setEnd(end);
+        calRepo.save(ce);
+    }
 }
@@ -0,0 +1,178 @@
+package com.momo.backend.Repository;
+
+import com.momo.backend.dto.ChatSummaryDto;
+import com.momo.backend.entity.Chat;
+import com.momo.backend.entity.ChatReadCursor;
+import com.momo.backend.entity.Message;
+import com.momo.backend.entity.enums.ChatType;
+import com.momo.backend.repository.ChatReadCursorRepository;
+import com.momo.backend.repository.ChatRepository;
+import com.momo.backend.repository.MessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ChatRepositoryTest {
+
+    @Autowired
+    private ChatRepository chatRepo;
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    private ChatReadCursorRepository cursorRepo;
+
+    private Chat createChat(String name, LocalDateTime createdAt, UUID... members) {
+        Chat chat = new Chat();
+        chat.setName(name);
+        chat.setType(ChatType.GROUP);
+        chat.setManagerId(members[0]);
+        chat.getMemberIds().addAll(Set.of(members));
+        chat.setCreatedAt(createdAt);
+        return chatRepo.save(chat);
+    }
+
+    private Message createMessage(Chat chat, UUID sender, LocalDateTime createdAt) {
+        Message m = new Message();
+        m.setChat(chat);
+        m.setSenderId(sender);
+        m.setSenderRole("EMPLOYEE");
+        m.setText("hallo");
+        m.setCreatedAt(createdAt);
+        return messageRepo.save(m);
+    }
+
+    @Test
+    void testIsMember() {
+        UUID member = UUID.randomUUID();
+        Chat chat = createChat("A", LocalDateTime.now(), member);
+
+        assertTrue(chatRepo.isMember(chat.getId(), member));
+        assertFalse(chatRepo.isMember(chat.getId(), UUID.randomUUID()));
+    }
+
+    @Test
+    void testFindIdsByMemberIdOnlyReturnsOwnChatsNewestFirst() {
+        UUID me = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now();
+
+        Chat older = createChat("alt", base, me, other);
+        Chat newer = createChat("neu", base.plusMinutes(1), me);
+        createChat("fremd", base.plusMinutes(2), other);
+
+        List<UUID> ids = chatRepo.findIdsByMemberId(me, Pageable.unpaged());
+
+        assertEquals(List.of(newer.getId(), older.getId()), ids);
+    }
+
+    @Test
+    void testFindIdsByMemberIdIsPaged() {
+        UUID me = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now();
+        createChat("1", base, me);
+        createChat("2", base.plusMinutes(1), me);
+        createChat("3", base.plusMinutes(2), me);
+
+        assertEquals(2, chatRepo.findIdsByMemberId(me, PageRequest.of(0, 2)).size());
+        assertEquals(1, chatRepo.findIdsByMemberId(me, PageRequest.of(1, 2)).size());
+    }
+
+    @Test
+    void testFindIdsByMemberIdInReturnsEachChatOnce() {
+        UUID me = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now();
+        Chat shared = createChat("gemeinsam", base, me, other);
+        Chat mine = createChat("meins", base.plusMinutes(1), me);
+        createChat("fremd", base.plusMinutes(2), UUID.randomUUID());
+
+        List<UUID> ids = chatRepo.findIdsByMemberIdIn(List.of(me, other));
+
+        assertEquals(Set.of(shared.getId(), mine.getId()), Set.copyOf(ids));
+        assertEquals(2, ids.size());
+    }
+
+    @Test
+    void testFindAllWithMembersByIdIn() {
+        UUID me = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        Chat chat = createChat("A", LocalDateTime.now(), me, other);
+
+        List<Chat> result = chatRepo.findAllWithMembersByIdIn(List.of(chat.getId()));
+
+        assertEquals(1, result.size());
+        assertEquals(Set.of(me, other), result.getFirst().getMemberIds());
+    }
+
+    @Test
+    void testFindSummariesCountsUnreadFromOthersAfterCursor() {
+        UUID me = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        Chat chat = createChat("A", base, me, other);
+        chat.setLastMessagePreview("hallo");
+        chat.setLastMessageAt(base.plusMinutes(3));
+        chatRepo.save(chat);
+
+        createMessage(chat, other, base.plusMinutes(1));
+        createMessage(chat, other, base.plusMinutes(2));
+        createMessage(chat, other, base.plusMinutes(3));
+        createMessage(chat, me, base.plusMinutes(3));
+
+        ChatReadCursor cursor = new ChatReadCursor();
+        cursor.setChatId(chat.getId());
+        cursor.setMemberId(me);
+        cursor.setLastReadAt(base.plusMinutes(1));
+        cursorRepo.save(cursor);
+
+        List<ChatSummaryDto> result = chatRepo.findSummariesForMember(me);
+
+        assertEquals(1, result.size());
+        assertEquals(chat.getId(), result.getFirst().getChatId());
+        assertEquals("hallo", result.getFirst().getLastMessagePreview());
+        assertEquals(2, result.getFirst().getUnreadCount());
+    }
+
+    @Test
+    void testFindSummariesWithoutCursorCountsAllFromOthers() {
+        UUID me = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        Chat chat = createChat("A", base, me, other);
+        createMessage(chat, other, base.plusMinutes(1));
+        createMessage(chat, me, base.plusMinutes(2));
+
+        List<ChatSummaryDto> result = chatRepo.findSummariesForMember(me);
+
+        assertEquals(1, result.getFirst().getUnreadCount());
+        assertTrue(chatRepo.findSummariesForMember(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testUpdateLastMessageOnlyMovesForward() {
+        UUID me = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        Chat chat = createChat("A", base, me);
+        UUID newer = UUID.randomUUID();
+
+        assertEquals(1, chatRepo.updateLastMessage(chat.getId(), newer, "neu", me, base.plusMinutes(2)));
+        // Aeltere Nachricht kommt spaeter an (parallele Sends) -> bleibt ohne Wirkung
+        assertEquals(0, chatRepo.updateLastMessage(chat.getId(), UUID.randomUUID(), "alt", me, base.plusMinutes(1)));
+
+        ChatSummaryDto summary = chatRepo.findSummariesForMember(me).getFirst();
+        assertEquals(newer, summary.getLastMessageId());
+        assertEquals("neu", summary.getLastMessagePreview());
+    }
+}
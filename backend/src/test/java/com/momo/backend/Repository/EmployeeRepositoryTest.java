@@ -1,5 +1,6 @@
 package com.momo.backend.Repository;
 
+import com.momo.backend.dto.TaskCandidateDto;
 import com.momo.backend.entity.*;
 import com.momo.backend.entity.enums.CalendarEntryType;
 import com.momo.backend.entity.enums.LeaveStatus;
@@ -11,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -243,4 +245,60 @@ class EmployeeRepositoryTest {
 
         assertTrue(results.isEmpty());
     }
+
+    // -----------------------------------------------
+    // Kandidaten-Projektion fuer die Task-Besetzung
+    // -----------------------------------------------
+    @Test
+    void testFindCandidatesByManagerId() {
+        Manager m = new Manager();
+        m.setFirstName("Clara");
+        m.setLastName("Boss");
+        m.setEmail("clara@test.com");
+        m.setPassword("123");
+        userRepository.save(m);
+
+        Employee e = new Employee();
+        e.setFirstName("Tom");
+        e.setLastName("Worker");
+        e.setEmail("tom@test.com");
+        e.setPassword("abc");
+        e.setHourlyRate(18.5);
+        e.setAvailability(false);
+        e.setManager(m);
+        userRepository.save(e);
+
+        List<TaskCandidateDto> results = employeeRepository.findCandidatesByManagerId(m.getId());
+
+        assertEquals(1, results.size());
+        TaskCandidateDto candidate = results.getFirst();
+        assertEquals(e.getId(), candidate.getEmployeeId());
+        assertEquals("Tom", candidate.getFirstName());
+        assertEquals(18.5, candidate.getHourlyRate());
+        assertFalse(candidate.isAvailable());
+        assertTrue(employeeRepository.findCandidatesByManagerId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testLockByIdsReturnsTheLockedRows() {
+        Manager m = new Manager();
+        m.setFirstName("Lock");
+        m.setLastName("Boss");
+        m.setEmail("lockboss@test.com");
+        m.setPassword("123");
+        userRepository.save(m);
+
+        List<UUID> ids = new ArrayList<>();
+        for (String name : List.of("Lea", "Tom")) {
+            Employee e = new Employee();
+            e.setFirstName(name);
+            e.setLastName("Worker");
+            e.setEmail(name.toLowerCase() + "-lock@test.com");
+            e.setPassword("pass");
+            e.setManager(m);
+            ids.add(userRepository.save(e).getId());
+        }
+
+        assertEquals(2, employeeRepository.lockByIds(ids).size());
+    }
 }
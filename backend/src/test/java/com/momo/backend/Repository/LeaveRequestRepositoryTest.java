@@ -1,5 +1,6 @@
 package com.momo.backend.Repository;
 
+import com.momo.backend.dto.AvailabilitySlotDto;
 import com.momo.backend.entity.Employee;
 import com.momo.backend.entity.LeaveRequest;
 import com.momo.backend.entity.Manager;
@@ -175,4 +176,40 @@ class LeaveRequestRepositoryTest {
             leaveRequestRepository.flush();
         });
     }
+
+    // --------------------------------------------------------------------
+    // POSITIV: Nur genehmigter, noch relevanter Urlaub fuer den AvailabilityIndex
+    // --------------------------------------------------------------------
+    @Test
+    void testFindApprovedSlotsEndingAfter() {
+        Employee emp = createEmployeeWithManager();
+        LocalDateTime now = LocalDateTime.now();
+
+        LeaveRequest approved = new LeaveRequest();
+        approved.setEmployee(emp);
+        approved.setStartDate(now.plusDays(1));
+        approved.setEndDate(now.plusDays(3));
+        approved.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(approved);
+
+        LeaveRequest pending = new LeaveRequest();
+        pending.setEmployee(emp);
+        pending.setStartDate(now.plusDays(5));
+        pending.setEndDate(now.plusDays(6));
+        leaveRequestRepository.save(pending);
+
+        LeaveRequest past = new LeaveRequest();
+        past.setEmployee(emp);
+        past.setStartDate(now.minusDays(10));
+        past.setEndDate(now.minusDays(8));
+        past.setStatus(LeaveStatus.APPROVED);
+        leaveRequestRepository.save(past);
+
+        List<AvailabilitySlotDto> slots = leaveRequestRepository.findApprovedSlotsEndingAfter(now);
+
+        assertEquals(1, slots.size());
+        assertEquals(approved.getId(), slots.getFirst().getSourceId());
+        assertEquals(emp.getId(), slots.getFirst().getEmployeeId());
+        assertNull(slots.getFirst().getTaskId());
+    }
 }
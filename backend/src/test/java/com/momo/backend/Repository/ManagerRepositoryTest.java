@@ -26,7 +26,7 @@ class ManagerRepositoryTest {
         m.setFirstName("Tom");
         m.setLastName("Hansen");
         m.setEmail("tom@office.com");
-        m.setPassword("1234"); // wird gehashed
+        m.setPassword("1234");
         // Über das UserRepository speichern (wegen Vererbung)
         userRepository.save(m);
 
@@ -36,7 +36,8 @@ class ManagerRepositoryTest {
         assertEquals("Tom", saved.getFirstName());
         assertEquals("Hansen", saved.getLastName());
         assertEquals("tom@office.com", saved.getEmail());
-        assertNotEquals("1234", saved.getPassword()); // password wurde gehashed
+        // Hashing passiert im CredentialService, die Entity speichert den Wert unveraendert
+        assertEquals("1234", saved.getPassword());
     }
 
     @Test
@@ -0,0 +1,140 @@
+package com.momo.backend.Repository;
+
+import com.momo.backend.entity.Chat;
+import com.momo.backend.entity.Message;
+import com.momo.backend.entity.enums.ChatType;
+import com.momo.backend.repository.ChatRepository;
+import com.momo.backend.repository.MessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class MessageRepositoryTest {
+
+    @Autowired
+    private MessageRepository messageRepo;
+
+    @Autowired
+    private ChatRepository chatRepo;
+
+    private final UUID memberId = UUID.randomUUID();
+
+    // DB speichert Mikrosekunden, daher vergleichbare Zeitstempel verwenden
+    private LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private Chat createChat() {
+        Chat chat = new Chat();
+        chat.setName("Test Chat");
+        chat.setType(ChatType.GROUP);
+        chat.setManagerId(memberId);
+        chat.getMemberIds().addAll(Set.of(memberId));
+        return chatRepo.save(chat);
+    }
+
+    private Message createMessage(Chat chat, String text, LocalDateTime createdAt) {
+        Message m = new Message();
+        m.setChat(chat);
+        m.setSenderId(memberId);
+        m.setSenderRole("MANAGER");
+        m.setText(text);
+        m.setCreatedAt(createdAt);
+        return messageRepo.save(m);
+    }
+
+    @Test
+    void testFindAfterCursorReturnsOnlyNewerMessages() {
+        Chat chat = createChat();
+        LocalDateTime base = now();
+        Message first = createMessage(chat, "eins", base);
+        createMessage(chat, "zwei", base.plusSeconds(1));
+        createMessage(chat, "drei", base.plusSeconds(2));
+
+        List<Message> result = messageRepo.findAfterCursor(
+                chat.getId(), first.getCreatedAt(), first.getId(), PageRequest.of(0, 10));
+
+        assertEquals(2, result.size());
+        assertEquals("zwei", result.get(0).getText());
+        assertEquals("drei", result.get(1).getText());
+    }
+
+    @Test
+    void testFindAfterCursorRespectsLimit() {
+        Chat chat = createChat();
+        LocalDateTime base = now();
+        Message first = createMessage(chat, "eins", base);
+        createMessage(chat, "zwei", base.plusSeconds(1));
+        createMessage(chat, "drei", base.plusSeconds(2));
+
+        List<Message> result = messageRepo.findAfterCursor(
+                chat.getId(), first.getCreatedAt(), first.getId(), PageRequest.of(0, 1));
+
+        assertEquals(1, result.size());
+        assertEquals("zwei", result.getFirst().getText());
+    }
+
+    @Test
+    void testFindAfterCursorEmptyWhenNothingNew() {
+        Chat chat = createChat();
+        Message last = createMessage(chat, "eins", now());
+
+        List<Message> result = messageRepo.findAfterCursor(
+                chat.getId(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testFindLatestReturnsNewestFirst() {
+        Chat chat = createChat();
+        LocalDateTime base = now();
+        createMessage(chat, "eins", base);
+        createMessage(chat, "zwei", base.plusSeconds(1));
+        createMessage(chat, "drei", base.plusSeconds(2));
+
+        List<Message> result = messageRepo.findLatest(chat.getId(), PageRequest.of(0, 2));
+
+        assertEquals(2, result.size());
+        assertEquals("drei", result.get(0).getText());
+        assertEquals("zwei", result.get(1).getText());
+    }
+
+    @Test
+    void testFindBeforeCursorReturnsOlderMessages() {
+        Chat chat = createChat();
+        LocalDateTime base = now();
+        createMessage(chat, "eins", base);
+        createMessage(chat, "zwei", base.plusSeconds(1));
+        Message third = createMessage(chat, "drei", base.plusSeconds(2));
+
+        List<Message> result = messageRepo.findBeforeCursor(
+                chat.getId(), third.getCreatedAt(), third.getId(), PageRequest.of(0, 10));
+
+        assertEquals(2, result.size());
+        assertEquals("zwei", result.get(0).getText());
+        assertEquals("eins", result.get(1).getText());
+    }
+
+    @Test
+    void testSavedMessagesGetTimeOrderedIds() {
+        Chat chat = createChat();
+        Message first = createMessage(chat, "eins", now());
+        Message second = createMessage(chat, "zwei", now());
+
+        assertEquals(7, first.getId().version());
+        assertEquals(7, chat.getId().version());
+        assertTrue(Long.compareUnsigned(first.getId().getMostSignificantBits(),
+                second.getId().getMostSignificantBits()) < 0);
+    }
+}
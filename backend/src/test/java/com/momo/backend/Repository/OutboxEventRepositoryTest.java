@@ -0,0 +1,98 @@
+package com.momo.backend.Repository;
+
+import com.momo.backend.entity.OutboxEvent;
+import com.momo.backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxEvent createEvent(String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setRecipientId(UUID.randomUUID());
+        event.setDestination("/queue/requests");
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return outboxRepo.save(event);
+    }
+
+    @Test
+    void testClaimNextBatchReturnsOldestFirstAndRespectsLimit() {
+        createEvent("{\"n\":1}");
+        createEvent("{\"n\":2}");
+        createEvent("{\"n\":3}");
+
+        List<OutboxEvent> batch = outboxRepo.claimNextBatch(2);
+
+        assertEquals(2, batch.size());
+        assertEquals("{\"n\":1}", batch.get(0).getPayload());
+        assertEquals("{\"n\":2}", batch.get(1).getPayload());
+    }
+
+    @Test
+    void testDeletedBatchIsNotReturnedAgain() {
+        createEvent("{\"n\":1}");
+        outboxRepo.deleteAllInBatch(outboxRepo.claimNextBatch(10));
+
+        assertTrue(outboxRepo.claimNextBatch(10).isEmpty());
+    }
+
+    // Zwei Relays: was das eine gesperrt hat, ueberspringt das andere, ohne zu warten
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testClaimedRowsAreSkippedByOtherTransactions() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        UUID first = tx.execute(status -> createEvent("{\"n\":1}").getId());
+        UUID second = tx.execute(status -> createEvent("{\"n\":2}").getId());
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+                assertEquals(List.of(first, second), outboxRepo.claimNextBatch(10)
+                        .stream().map(OutboxEvent::getId).toList());
+                claimed.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+            List<UUID> other = tx.execute(status -> outboxRepo.claimNextBatch(10)
+                    .stream().map(OutboxEvent::getId).toList());
+
+            assertTrue(other.isEmpty());
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+
+            // Ohne Loeschen freigegeben: beim naechsten Lauf wieder verfuegbar
+            List<OutboxEvent> reclaimed = tx.execute(status -> outboxRepo.claimNextBatch(10));
+            assertEquals(2, reclaimed.size());
+        } finally {
+            release.countDown();
+            outboxRepo.deleteAllByIdInBatch(List.of(first, second));
+        }
+    }
+}
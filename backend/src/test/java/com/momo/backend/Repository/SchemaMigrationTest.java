@@ -0,0 +1,44 @@
+package com.momo.backend.Repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Schema kommt aus den Flyway-Migrationen; Hibernate validiert es beim Start (ddl-auto=validate).
+ */
+@DataJpaTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testAllMigrationsApplied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" = TRUE AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), versions);
+    }
+
+    @Test
+    void testAccessPathIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_chat_members_member_chat",
+                "idx_task_assignments_task_employee",
+                "idx_task_assignments_employee",
+                "idx_employees_manager",
+                "idx_messages_chat_created_id",
+                "idx_calendar_entries_employee_range")));
+        assertFalse(indexes.contains("idx_chat_members_member"));
+    }
+}
@@ -173,4 +173,46 @@ class TaskAssignmentRepositoryTest {
             assignmentRepo.flush();
         });
     }
+
+    @Test
+    void testFindDtoByIdReturnsOwnerIds() {
+        Manager m = new Manager();
+        m.setFirstName("Owner");
+        m.setLastName("Ids");
+        m.setEmail("owner-ids@mail.com");
+        m.setPassword("1234");
+        userRepository.save(m);
+
+        Task task = new Task();
+        task.setManager(m);
+        task.setLocation("Berlin");
+        task.setCompany("Momo GmbH");
+        task.setRequiredEmployees(2);
+        task.setStart(LocalDateTime.now().plusDays(1));
+        task.setEnd(LocalDateTime.now().plusDays(1).plusHours(4));
+        task.setResponseDeadline(LocalDateTime.now().plusHours(12));
+        taskRepository.save(task);
+
+        Employee e = new Employee();
+        e.setFirstName("E");
+        e.setLastName("F");
+        e.setEmail("ef@mail.com");
+        e.setPassword("123");
+        userRepository.save(e);
+
+        TaskAssignment ta = new TaskAssignment();
+        ta.setTask(task);
+        ta.setEmployee(e);
+        ta.setStatus(AssignmentStatus.PENDING);
+        assignmentRepo.save(ta);
+
+        var dto = assignmentRepo.findDtoById(ta.getId()).orElseThrow();
+
+        assertEquals(ta.getId(), dto.getId());
+        assertEquals(task.getId(), dto.getTaskId());
+        assertEquals(e.getId(), dto.getEmployeeId());
+        assertEquals(m.getId(), dto.getManagerId());
+        assertEquals(AssignmentStatus.PENDING, dto.getStatus());
+        assertEquals(e.getId(), assignmentRepo.findEmployeeIdById(ta.getId()).orElseThrow());
+    }
 }
@@ -142,4 +142,28 @@ class TaskRepositoryTest {
             taskRepository.flush();
         });
     }
+
+    private Manager saveManager(String email) {
+        Manager m = new Manager();
+        m.setFirstName("Owner");
+        m.setLastName("Check");
+        m.setEmail(email);
+        m.setPassword("1234");
+        return userRepository.save(m);
+    }
+
+    @Test
+    void testFindByIdAndManagerIdOnlyForOwner() {
+        Manager owner = saveManager("owner@mail.com");
+        Manager other = saveManager("other@mail.com");
+
+        Task task = validTask(owner);
+        task.setCompany("Momo GmbH");
+        taskRepository.save(task);
+
+        assertTrue(taskRepository.findByIdAndManagerId(task.getId(), owner.getId()).isPresent());
+        assertTrue(taskRepository.findByIdAndManagerId(task.getId(), other.getId()).isEmpty());
+        assertTrue(taskRepository.existsByIdAndManagerId(task.getId(), owner.getId()));
+        assertFalse(taskRepository.existsByIdAndManagerId(task.getId(), other.getId()));
+    }
 }
@@ -0,0 +1,31 @@
+package com.momo.backend.Repository;
+
+import com.momo.backend.repository.UserEventSeqRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserEventSeqRepositoryTest {
+
+    @Autowired
+    private UserEventSeqRepository seqRepo;
+
+    @Test
+    void testIncrementCountsUpFromFirstSeq() {
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(0, seqRepo.increment(userId));
+        assertNull(seqRepo.findLastSeq(userId));
+
+        seqRepo.insertFirst(userId);
+        assertEquals(1, seqRepo.increment(userId));
+        assertEquals(1, seqRepo.increment(userId));
+
+        assertEquals(3L, seqRepo.findLastSeq(userId));
+    }
+}
@@ -0,0 +1,99 @@
+package com.momo.backend.config;
+
+import com.momo.backend.service.UserEventLog;
+import com.momo.backend.service.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SSE-Stream fuer Dashboards: Filter auf Assignments/Requests, Last-Event-ID und Live-Events.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class DashboardEventStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserEventLog userEventLog;
+
+    private byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Liest bis zur naechsten Leerzeile (Ende eines SSE-Events) und ignoriert Kommentare
+    private String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        StringBuilder event = new StringBuilder();
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertNotNull(line, "timeout waiting for SSE event");
+            if (line.isEmpty() && !event.isEmpty()) {
+                return event.toString();
+            }
+            if (!line.isEmpty() && !line.startsWith(":")) {
+                event.append(line).append('\n');
+            }
+        }
+    }
+
+    @Test
+    void testStreamResumesFromLastEventIdAndDeliversLiveEvents() throws Exception {
+        UUID userId = UUID.randomUUID();
+        String token = jwtTokenProvider.generateToken("sse@test.de",
+                Map.of("uid", userId.toString(), "role", "MANAGER"));
+
+        userEventLog.deliver(userId, "/queue/requests", json("{\"type\":\"request_created\",\"payload\":{\"id\":\"r1\"}}"));
+        userEventLog.deliver(userId, "/queue/requests", json("{\"type\":\"request_updated\",\"payload\":{\"id\":\"r2\"}}"));
+        userEventLog.deliver(userId, "/queue/messages", json("{\"id\":\"m1\"}"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", "1")
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread reader = Thread.ofVirtual().start(() -> response.body().forEach(lines::offer));
+        try {
+            // seq 1 ist schon bekannt, seq 3 (Chat) gehoert nicht in den Dashboard-Stream
+            String replayed = nextEvent(lines);
+            assertTrue(replayed.contains("id:2"), replayed);
+            assertTrue(replayed.contains("event:requests"), replayed);
+            assertTrue(replayed.contains("r2"), replayed);
+
+            userEventLog.deliver(userId, "/queue/assignments", json("{\"id\":\"a1\"}"));
+
+            String live = nextEvent(lines);
+            assertTrue(live.contains("id:4"), live);
+            assertTrue(live.contains("event:assignments"), live);
+        } finally {
+            response.body().close();
+            reader.interrupt();
+        }
+    }
+}
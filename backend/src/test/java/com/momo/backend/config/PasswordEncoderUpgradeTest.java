@@ -0,0 +1,58 @@
+package com.momo.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderUpgradeTest {
+
+    // Niedrige Kosten, damit der Test schnell bleibt
+    private final PasswordEncoder encoder = SecurityConfig.createPasswordEncoder(5);
+
+    @Test
+    void testLegacyHashWithoutPrefixStillMatches() {
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void testCurrentHashNeedsNoUpgrade() {
+        String current = encoder.encode("secret");
+
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(encoder.upgradeEncoding(current));
+    }
+
+    @Test
+    void testLowerCostHashIsUpgradedOnLogin() {
+        String cheap = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+        AtomicReference<String> stored = new AtomicReference<>(cheap);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(email -> User.withUsername(email)
+                .password(stored.get())
+                .authorities("EMPLOYEE")
+                .build());
+        provider.setUserDetailsPasswordService((UserDetails user, String newPassword) -> {
+            stored.set(newPassword);
+            return User.withUserDetails(user).password(newPassword).build();
+        });
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("emp@test.de", "secret"));
+
+        assertNotEquals(cheap, stored.get());
+        assertTrue(stored.get().startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", stored.get()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.momo.backend.config;
+
+import com.momo.backend.service.ChatFanoutPublisher;
+import com.momo.backend.service.security.JwtTokenProvider;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relay-Modus gegen einen eingebetteten Artemis-STOMP-Broker, kein externer Dienst noetig.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class WebSocketBrokerRelayTest {
+
+    private static int brokerPort;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ChatFanoutPublisher chatFanoutPublisher;
+
+    @Autowired
+    @Qualifier("stompBrokerRelayMessageHandler")
+    private AbstractBrokerMessageHandler brokerRelay;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) throws IOException {
+        brokerPort = freePort();
+        registry.add("websocket.relay.enabled", () -> "true");
+        registry.add("websocket.relay.host", () -> "localhost");
+        registry.add("websocket.relay.port", () -> brokerPort);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Als Bean, damit der Broker vor dem Relay startet und erst nach ihm stoppt
+    @TestConfiguration
+    static class EmbeddedBrokerConfig {
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        EmbeddedActiveMQ embeddedStompBroker() throws Exception {
+            Path dataDir = Files.createTempDirectory("artemis-test");
+            Configuration config = new ConfigurationImpl()
+                    .setPersistenceEnabled(false)
+                    .setSecurityEnabled(false)
+                    .setJournalDirectory(dataDir.resolve("journal").toString())
+                    .setBindingsDirectory(dataDir.resolve("bindings").toString())
+                    .setPagingDirectory(dataDir.resolve("paging").toString())
+                    .setLargeMessagesDirectory(dataDir.resolve("large").toString())
+                    .addAcceptorConfiguration("stomp", "tcp://localhost:" + brokerPort + "?protocols=STOMP");
+            return new EmbeddedActiveMQ().setConfiguration(config);
+        }
+    }
+
+    // Die System-Session des Relays verbindet sich asynchron; vorher weist es Clients ab
+    private void awaitBrokerAvailable() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!brokerRelay.isBrokerAvailable()) {
+            assertTrue(System.nanoTime() < deadline, "Broker relay did not become available");
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void testUserQueueMessageIsDeliveredThroughRelay() throws Exception {
+        awaitBrokerAvailable();
+        UUID userId = UUID.randomUUID();
+        String token = jwtTokenProvider.generateToken("relay@test.de",
+                Map.of("uid", userId.toString(), "role", "EMPLOYEE"));
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setTaskScheduler(scheduler);
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        StompSession session = client.connectAsync("ws://localhost:" + port + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        try {
+            BlockingQueue<String> received = new ArrayBlockingQueue<>(1);
+            CountDownLatch subscribed = new CountDownLatch(1);
+            session.setAutoReceipt(true);
+            session.subscribe("/user/queue/messages", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.offer(new String((byte[]) payload, StandardCharsets.UTF_8));
+                }
+            }).addReceiptTask(subscribed::countDown);
+            assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+
+            chatFanoutPublisher.publish(List.of(userId), "/queue/messages", Map.of("text", "hallo"));
+
+            String payload = received.poll(10, TimeUnit.SECONDS);
+            assertNotNull(payload);
+            assertTrue(payload.contains("hallo"));
+        } finally {
+            session.disconnect();
+            client.stop();
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.momo.backend.config;
+
+import com.momo.backend.dto.EventResumeRequest;
+import com.momo.backend.service.ChatFanoutPublisher;
+import com.momo.backend.service.UserEventLog;
+import com.momo.backend.service.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ende-zu-Ende: seq-Header auf User-Queues und Nachliefern ueber /app/events/resume (Simple Broker).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class WebSocketEventResumeTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ChatFanoutPublisher chatFanoutPublisher;
+
+    @Test
+    void testMissedEventIsReplayedAfterResume() throws Exception {
+        UUID userId = UUID.randomUUID();
+        String token = jwtTokenProvider.generateToken("resume@test.de",
+                Map.of("uid", userId.toString(), "role", "EMPLOYEE"));
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setTaskScheduler(scheduler);
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        StompSession session = client.connectAsync("ws://localhost:" + port + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        try {
+            // Event, das "waehrend des Reconnects" ohne Subscription zugestellt wird
+            chatFanoutPublisher.publish(List.of(userId), "/queue/messages", Map.of("text", "verpasst"));
+            Thread.sleep(200);
+
+            BlockingQueue<String> seqs = new ArrayBlockingQueue<>(4);
+            session.subscribe("/user/queue/messages", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    seqs.offer(headers.getFirst(UserEventLog.SEQ_HEADER));
+                }
+            });
+            // Kein Warten noetig: Frames einer Session werden in Reihenfolge verarbeitet
+            session.send("/app/events/resume", new EventResumeRequest(0));
+
+            assertEquals("1", seqs.poll(10, TimeUnit.SECONDS));
+        } finally {
+            session.disconnect();
+            client.stop();
+            scheduler.shutdown();
+        }
+    }
+}
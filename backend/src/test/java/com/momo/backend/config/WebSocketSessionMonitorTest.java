@@ -0,0 +1,93 @@
+package com.momo.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WebSocketSessionMonitorTest {
+
+    private MeterRegistry meterRegistry;
+    private WebSocketSessionMonitor monitor;
+    private WebSocketSession slowSession;
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new WebSocketSessionMonitor(meterRegistry);
+        // Sweep nur manuell im Test
+        ReflectionTestUtils.setField(monitor, "sweepMs", 3_600_000L);
+        monitor.start();
+
+        // Client, der nichts mehr abnimmt: sendMessage blockiert bis zum Testende
+        slowSession = mock(WebSocketSession.class);
+        when(slowSession.getId()).thenReturn("slow");
+        when(slowSession.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sending.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).when(slowSession).sendMessage(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        monitor.stop();
+    }
+
+    @Test
+    void testStuckSessionIsEvictedBySweepWithoutFurtherMessages() throws Exception {
+        WebSocketSession session = monitor.decorate(slowSession, 50, 1024);
+        Thread.ofVirtual().start(() -> {
+            try {
+                session.sendMessage(new TextMessage("hallo"));
+            } catch (Exception ignored) {
+                // Test prueft nur das Schliessen
+            }
+        });
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        session.sendMessage(new TextMessage("gepuffert"));
+        Thread.sleep(100);
+
+        monitor.sweep();
+
+        verify(slowSession, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.get("websocket.session.evicted").counter().count());
+        assertEquals("gepuffert".length(),
+                meterRegistry.get("websocket.session.buffered.bytes.max").gauge().value());
+    }
+
+    @Test
+    void testHealthySessionIsKeptAndRemovedOnClose() throws Exception {
+        WebSocketSession healthy = mock(WebSocketSession.class);
+        when(healthy.getId()).thenReturn("healthy");
+        when(healthy.isOpen()).thenReturn(true);
+        WebSocketSession session = monitor.decorate(healthy, 50, 1024);
+        session.sendMessage(new TextMessage("hallo"));
+        Thread.sleep(100);
+
+        monitor.sweep();
+
+        verify(healthy, never()).close(any());
+        assertEquals(0.0, meterRegistry.get("websocket.session.evicted").counter().count());
+        assertEquals(1, meterRegistry.get("websocket.session.buffered.bytes").summary().count());
+
+        monitor.remove("healthy");
+        monitor.sweep();
+        assertEquals(1, meterRegistry.get("websocket.session.buffered.bytes").summary().count());
+    }
+}
@@ -0,0 +1,118 @@
+package com.momo.backend.service;
+
+import com.momo.backend.dto.AvailabilitySlotDto;
+import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AvailabilityIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    private CalendarEntryRepository calendarEntryRepository;
+    private LeaveRequestRepository leaveRequestRepository;
+    private AvailabilityIndex index;
+
+    private final UUID employee = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        calendarEntryRepository = mock(CalendarEntryRepository.class);
+        leaveRequestRepository = mock(LeaveRequestRepository.class);
+        when(calendarEntryRepository.findSlotsEndingAfter(any())).thenReturn(List.of());
+        when(leaveRequestRepository.findApprovedSlotsEndingAfter(any())).thenReturn(List.of());
+        index = new AvailabilityIndex(calendarEntryRepository, leaveRequestRepository);
+        ReflectionTestUtils.setField(index, "historyDays", 30L);
+    }
+
+    private AvailabilityIndex.Slot shift(UUID employeeId, UUID taskId, int fromHour, int toHour) {
+        return new AvailabilityIndex.Slot(UUID.randomUUID(), AvailabilityIndex.Kind.CALENDAR, employeeId, taskId,
+                BASE.plusHours(fromHour), BASE.plusHours(toHour));
+    }
+
+    @Test
+    void testOverlapIsDetectedButTouchingIntervalsAreFree() {
+        index.put(shift(employee, null, 0, 4));
+
+        assertFalse(index.isFree(employee, BASE.plusHours(3), BASE.plusHours(5)));
+        assertFalse(index.isFree(employee, BASE.minusHours(1), BASE.plusHours(1)));
+        assertTrue(index.isFree(employee, BASE.plusHours(4), BASE.plusHours(6)));
+        assertTrue(index.isFree(employee, BASE.minusHours(2), BASE));
+        assertTrue(index.isFree(other, BASE, BASE.plusHours(4)));
+    }
+
+    @Test
+    void testLongIntervalStartingEarlierIsFound() {
+        // Mehrtaegiger Urlaub, der lange vor dem abgefragten Fenster beginnt
+        index.put(new AvailabilityIndex.Slot(UUID.randomUUID(), AvailabilityIndex.Kind.LEAVE, employee, null,
+                BASE.minusDays(5), BASE.plusDays(5)));
+        index.put(shift(employee, null, -30, -29));
+
+        List<AvailabilityIndex.Slot> conflicts = index.findConflicts(employee, BASE, BASE.plusHours(1), null);
+
+        assertEquals(1, conflicts.size());
+        assertEquals(AvailabilityIndex.Kind.LEAVE, conflicts.getFirst().kind());
+    }
+
+    @Test
+    void testOwnTaskEntryIsIgnored() {
+        UUID taskId = UUID.randomUUID();
+        index.put(shift(employee, taskId, 0, 4));
+
+        assertTrue(index.isFree(employee, BASE, BASE.plusHours(4), taskId));
+        assertFalse(index.isFree(employee, BASE, BASE.plusHours(4), UUID.randomUUID()));
+    }
+
+    @Test
+    void testUpdateAndRemoveReplaceThePreviousInterval() {
+        AvailabilityIndex.Slot slot = shift(employee, null, 0, 4);
+        index.put(slot);
+
+        // Verschoben und anderem Mitarbeiter zugeordnet
+        index.put(new AvailabilityIndex.Slot(slot.sourceId(), slot.kind(), other, null,
+                BASE.plusHours(10), BASE.plusHours(12)));
+
+        assertTrue(index.isFree(employee, BASE, BASE.plusHours(4)));
+        assertFalse(index.isFree(other, BASE.plusHours(11), BASE.plusHours(13)));
+
+        index.remove(slot.sourceId());
+        assertTrue(index.isFree(other, BASE.plusHours(11), BASE.plusHours(13)));
+    }
+
+    @Test
+    void testFindFreeEmployeesLoadsOnceFromRepositories() {
+        UUID taskId = UUID.randomUUID();
+        when(calendarEntryRepository.findSlotsEndingAfter(any())).thenReturn(List.of(
+                new AvailabilitySlotDto(UUID.randomUUID(), employee, taskId, BASE, BASE.plusHours(8))));
+        when(leaveRequestRepository.findApprovedSlotsEndingAfter(any())).thenReturn(List.of(
+                new AvailabilitySlotDto(UUID.randomUUID(), other, BASE.minusDays(1), BASE.plusDays(1))));
+        UUID third = UUID.randomUUID();
+
+        List<UUID> free = index.findFreeEmployees(List.of(employee, other, third),
+                BASE.plusHours(2), BASE.plusHours(3), null);
+        List<UUID> freeIgnoringTask = index.findFreeEmployees(List.of(employee, other, third),
+                BASE.plusHours(2), BASE.plusHours(3), taskId);
+
+        assertEquals(List.of(third), free);
+        assertEquals(List.of(employee, third), freeIgnoringTask);
+        verify(calendarEntryRepository, times(1)).findSlotsEndingAfter(any());
+        verify(leaveRequestRepository, times(1)).findApprovedSlotsEndingAfter(any());
+    }
+
+    @Test
+    void testInvalidRangeIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.isFree(employee, BASE.plusHours(2), BASE.plusHours(1)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.OutboxEvent;
+import com.momo.backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private UserEventLog userEventLog;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        userEventLog = mock(UserEventLog.class);
+        relay = new OutboxRelay(outboxEventRepository, userEventLog, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+    }
+
+    private OutboxEvent event(UUID recipient, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(UUID.randomUUID());
+        event.setRecipientId(recipient);
+        event.setDestination("/queue/requests");
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    void testDrainSendsEachEventToItsUserQueueAndDeletesIt() {
+        UUID recipient = UUID.randomUUID();
+        OutboxEvent event = event(recipient, "{\"n\":1}");
+        when(outboxEventRepository.claimNextBatch(anyInt())).thenReturn(List.of(event));
+
+        relay.drain();
+
+        verify(userEventLog).deliver(eq(recipient), eq("/queue/requests"), aryEq("{\"n\":1}".getBytes()));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(event.getId()));
+    }
+
+    @Test
+    void testDrainContinuesWhileBatchesAreFullAndDeletesPerBatch() {
+        List<OutboxEvent> full = List.of(event(UUID.randomUUID(), "{}"), event(UUID.randomUUID(), "{}"));
+        List<OutboxEvent> rest = List.of(event(UUID.randomUUID(), "{}"));
+        when(outboxEventRepository.claimNextBatch(anyInt())).thenReturn(full, rest);
+
+        relay.drain();
+
+        verify(outboxEventRepository, times(2)).claimNextBatch(anyInt());
+        verify(userEventLog, times(3)).deliver(any(), anyString(), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(full.stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(rest.getFirst().getId()));
+    }
+
+    @Test
+    void testFailedSendKeepsEventAndStopsTheRun() {
+        OutboxEvent sent = event(UUID.randomUUID(), "{}");
+        OutboxEvent failing = event(UUID.randomUUID(), "{}");
+        OutboxEvent next = event(UUID.randomUUID(), "{}");
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        when(outboxEventRepository.claimNextBatch(anyInt())).thenReturn(List.of(sent, failing, next));
+        doThrow(new MessageDeliveryException("broker down"))
+                .when(userEventLog).deliver(eq(failing.getRecipientId()), anyString(), any());
+
+        assertDoesNotThrow(() -> relay.drain());
+
+        verify(outboxEventRepository).incrementAttempts(failing.getId());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(sent.getId()));
+        verify(outboxEventRepository, times(1)).claimNextBatch(anyInt());
+        verify(userEventLog, never()).deliver(eq(next.getRecipientId()), anyString(), any());
+    }
+
+    @Test
+    void testEventIsDroppedAfterMaxAttempts() {
+        OutboxEvent poison = event(UUID.randomUUID(), "{}");
+        poison.setAttempts(2);
+        OutboxEvent next = event(UUID.randomUUID(), "{}");
+        when(outboxEventRepository.claimNextBatch(anyInt())).thenReturn(List.of(poison, next), List.of());
+        doThrow(new MessageDeliveryException("poison"))
+                .when(userEventLog).deliver(eq(poison.getRecipientId()), anyString(), any());
+
+        relay.drain();
+
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(poison.getId(), next.getId()));
+        verify(userEventLog).deliver(eq(next.getRecipientId()), anyString(), any());
+    }
+}
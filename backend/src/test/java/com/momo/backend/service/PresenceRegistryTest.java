@@ -0,0 +1,183 @@
+package com.momo.backend.service;
+
+import com.momo.backend.dto.ChatPresenceDto;
+import com.momo.backend.entity.Chat;
+import com.momo.backend.exception.CustomAccessDeniedException;
+import com.momo.backend.repository.ChatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PresenceRegistryTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID chatId = UUID.randomUUID();
+
+    private SimpMessagingTemplate messagingTemplate;
+    private ChatRepository chatRepository;
+    private PresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        chatRepository = mock(ChatRepository.class);
+        registry = new PresenceRegistry(messagingTemplate, chatRepository, new SimpleMeterRegistry());
+        // Flush nur manuell im Test
+        ReflectionTestUtils.setField(registry, "flushMs", 3_600_000L);
+        ReflectionTestUtils.setField(registry, "typingTtlMs", 5000L);
+        registry.start();
+
+        Chat chat = new Chat();
+        chat.setId(chatId);
+        chat.setMemberIds(Set.of(alice, bob));
+        when(chatRepository.findIdsByMemberIdIn(anyCollection())).thenReturn(List.of(chatId));
+        when(chatRepository.findAllWithMembersByIdIn(anyCollection())).thenReturn(List.of(chat));
+        when(chatRepository.isMember(chatId, alice)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.stop();
+    }
+
+    private Principal principal(UUID userId) {
+        return userId::toString;
+    }
+
+    private Message<byte[]> frame(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private void connect(UUID userId, String sessionId) {
+        registry.onConnected(new SessionConnectedEvent(this, frame(sessionId, null), principal(userId)));
+    }
+
+    private void disconnect(UUID userId, String sessionId) {
+        registry.onDisconnected(new SessionDisconnectEvent(this, frame(sessionId, null), sessionId,
+                CloseStatus.NORMAL, principal(userId)));
+    }
+
+    private ChatPresenceDto lastSentTo(UUID userId) {
+        ArgumentCaptor<ChatPresenceDto> captor = ArgumentCaptor.forClass(ChatPresenceDto.class);
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSendToUser(eq(userId.toString()), eq(PresenceRegistry.DESTINATION), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void testChangesWithinOneWindowAreCoalescedPerChat() {
+        connect(alice, "s1");
+        connect(bob, "s2");
+        registry.typing(alice, chatId, true);
+        registry.typing(alice, chatId, true);
+
+        registry.flush();
+
+        // Ein Stand pro Online-Mitglied, obwohl sich vier Dinge geaendert haben
+        verify(messagingTemplate, times(2)).convertAndSendToUser(anyString(), anyString(), any(ChatPresenceDto.class));
+        ChatPresenceDto presence = lastSentTo(bob);
+        assertEquals(chatId, presence.getChatId());
+        assertEquals(Set.of(alice, bob), Set.copyOf(presence.getOnline()));
+        assertEquals(List.of(alice), presence.getTyping());
+        verify(chatRepository, times(1)).isMember(chatId, alice);
+
+        clearInvocations(messagingTemplate);
+        registry.flush();
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void testUserStaysOnlineUntilLastSessionCloses() {
+        connect(alice, "s1");
+        connect(alice, "s2");
+        connect(bob, "s3");
+        registry.typing(alice, chatId, true);
+        registry.flush();
+        clearInvocations(messagingTemplate);
+
+        disconnect(alice, "s1");
+        registry.flush();
+        verifyNoInteractions(messagingTemplate);
+
+        disconnect(alice, "s2");
+        registry.flush();
+        ChatPresenceDto presence = lastSentTo(bob);
+        assertEquals(List.of(bob), presence.getOnline());
+        assertTrue(presence.getTyping().isEmpty());
+    }
+
+    @Test
+    void testSubscribeSendsOwnSnapshot() {
+        connect(alice, "s1");
+        registry.flush();
+        clearInvocations(messagingTemplate);
+
+        registry.onSubscribe(new SessionSubscribeEvent(this, frame("s1", "/user/queue/presence"), principal(alice)));
+        registry.flush();
+
+        assertEquals(List.of(alice), lastSentTo(alice).getOnline());
+    }
+
+    @Test
+    void testExpiredTypingIsCleared() {
+        connect(alice, "s1");
+        registry.typing(alice, chatId, true);
+        registry.flush();
+        clearInvocations(messagingTemplate);
+
+        ReflectionTestUtils.setField(registry, "typingTtlMs", -1L);
+        registry.typing(alice, chatId, false);
+        registry.typing(alice, chatId, true);
+        registry.flush();
+
+        assertTrue(lastSentTo(alice).getTyping().isEmpty());
+    }
+
+    @Test
+    void testChatsAreResolvedAtFlushNotAtConnect() {
+        connect(alice, "s1");
+        verify(chatRepository, never()).findIdsByMemberIdIn(anyCollection());
+
+        // Chat kommt erst nach dem Connect dazu und wird trotzdem bedient
+        UUID laterChatId = UUID.randomUUID();
+        Chat later = new Chat();
+        later.setId(laterChatId);
+        later.setMemberIds(Set.of(alice));
+        when(chatRepository.findIdsByMemberIdIn(anyCollection())).thenReturn(List.of(laterChatId));
+        when(chatRepository.findAllWithMembersByIdIn(anyCollection())).thenReturn(List.of(later));
+
+        registry.flush();
+
+        assertEquals(laterChatId, lastSentTo(alice).getChatId());
+    }
+
+    @Test
+    void testTypingInForeignChatIsRejected() {
+        assertThrows(CustomAccessDeniedException.class, () -> registry.typing(bob, UUID.randomUUID(), true));
+    }
+}
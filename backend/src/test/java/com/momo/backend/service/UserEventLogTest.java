@@ -0,0 +1,217 @@
+package com.momo.backend.service;
+
+import com.momo.backend.entity.UserEvent;
+import com.momo.backend.repository.UserEventRepository;
+import com.momo.backend.repository.UserEventSeqRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserEventLogTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private SimpMessagingTemplate messagingTemplate;
+    private UserEventRepository userEventRepository;
+    private UserEventSeqRepository userEventSeqRepository;
+    private UserEventLog eventLog;
+    // Stand von user_event_seqs fuer userId
+    private final AtomicLong lastSeq = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        userEventRepository = mock(UserEventRepository.class);
+        userEventSeqRepository = mock(UserEventSeqRepository.class);
+        when(userEventSeqRepository.increment(userId)).thenAnswer(invocation -> {
+            lastSeq.incrementAndGet();
+            return 1;
+        });
+        when(userEventSeqRepository.findLastSeq(userId)).thenAnswer(invocation -> lastSeq.get());
+        eventLog = new UserEventLog(messagingTemplate, userEventRepository, userEventSeqRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(eventLog, "bufferSize", 2);
+        ReflectionTestUtils.setField(eventLog, "spillBatchSize", 2);
+        ReflectionTestUtils.setField(eventLog, "maxReplay", 10);
+        eventLog.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLog.stop();
+    }
+
+    private byte[] json(int n) {
+        return ("{\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<byte[]>> sentMessages() {
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, atLeastOnce()).send(eq("/user/" + userId + "/queue/messages"), captor.capture());
+        return captor.getAllValues();
+    }
+
+    // Wartet, bis alle bisher eingeplanten Auslagerungen des Wartungs-Threads durch sind
+    private void awaitMaintenance() throws Exception {
+        ExecutorService maintenance = (ExecutorService) ReflectionTestUtils.getField(eventLog, "maintenance");
+        maintenance.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private String seqOf(Message<byte[]> message) {
+        return SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(UserEventLog.SEQ_HEADER);
+    }
+
+    @Test
+    void testDeliverContinuesSharedSequence() {
+        lastSeq.set(41);
+
+        assertEquals(42, eventLog.deliver(userId, "/queue/messages", json(1)));
+        assertEquals(43, eventLog.deliver(userId, "/queue/messages", json(2)));
+
+        List<Message<byte[]>> sent = sentMessages();
+        assertEquals("42", seqOf(sent.get(0)));
+        assertEquals("43", seqOf(sent.get(1)));
+    }
+
+    @Test
+    void testResumeReplaysOnlyMissedEventsFromBuffer() {
+        eventLog.deliver(userId, "/queue/messages", json(1));
+        eventLog.deliver(userId, "/queue/messages", json(2));
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 1);
+
+        List<Message<byte[]>> replayed = sentMessages();
+        assertEquals(1, replayed.size());
+        assertEquals("2", seqOf(replayed.getFirst()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOverflowIsSpilledInOneBatchAndResumeReadsItBack() throws Exception {
+        for (int n = 1; n <= 4; n++) {
+            eventLog.deliver(userId, "/queue/messages", json(n));
+        }
+        awaitMaintenance();
+
+        // Ab Puffer + Batch (2 + 2) lagert der Wartungs-Thread die zwei aeltesten gesammelt aus
+        ArgumentCaptor<List<UserEvent>> spilled = ArgumentCaptor.forClass(List.class);
+        verify(userEventRepository).saveAll(spilled.capture());
+        List<UserEvent> rows = spilled.getValue();
+        assertEquals(List.of(1L, 2L), rows.stream().map(UserEvent::getSeq).toList());
+        assertEquals("{\"n\":1}", rows.getFirst().getPayload());
+
+        when(userEventRepository.findRange(eq(userId), eq(0L), eq(5L), any(Pageable.class))).thenReturn(rows);
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 0);
+
+        List<Message<byte[]>> replayed = sentMessages();
+        assertEquals(List.of("1", "2", "3", "4"), replayed.stream().map(this::seqOf).toList());
+    }
+
+    @Test
+    void testDeliverBelowHighWaterMarkDoesNotTouchTheTable() throws Exception {
+        for (int n = 1; n <= 3; n++) {
+            eventLog.deliver(userId, "/queue/messages", json(n));
+        }
+        awaitMaintenance();
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 0);
+
+        verify(userEventRepository, never()).saveAll(any());
+        assertEquals(List.of("1", "2", "3"), sentMessages().stream().map(this::seqOf).toList());
+    }
+
+    @Test
+    void testFailedSpillKeepsEventsInBuffer() throws Exception {
+        when(userEventRepository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+        for (int n = 1; n <= 4; n++) {
+            eventLog.deliver(userId, "/queue/messages", json(n));
+        }
+        awaitMaintenance();
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 0);
+
+        verify(userEventRepository, never()).findRange(any(), anyLong(), anyLong(), any(Pageable.class));
+        assertEquals(List.of("1", "2", "3", "4"), sentMessages().stream().map(this::seqOf).toList());
+    }
+
+    @Test
+    void testResumeWithUnrecoverableGapSendsResync() throws Exception {
+        for (int n = 1; n <= 4; n++) {
+            eventLog.deliver(userId, "/queue/messages", json(n));
+        }
+        awaitMaintenance();
+        when(userEventRepository.findRange(any(), anyLong(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 0);
+
+        verify(messagingTemplate).convertAndSendToUser(userId.toString(), UserEventLog.CONTROL_DESTINATION,
+                new UserEventLog.StreamControl("resync", 4));
+        verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    void testResumeFillsEventsOfOtherInstancesFromTable() {
+        eventLog.deliver(userId, "/queue/messages", json(1));
+        // seq 2 hat eine andere Instanz vergeben und schon ausgelagert
+        lastSeq.incrementAndGet();
+        UserEvent foreign = new UserEvent();
+        foreign.setSeq(2);
+        foreign.setDestination("/queue/messages");
+        foreign.setPayload("{\"n\":2}");
+        when(userEventRepository.findRange(eq(userId), eq(0L), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(foreign));
+        eventLog.deliver(userId, "/queue/messages", json(3));
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, 0);
+
+        List<Message<byte[]>> replayed = sentMessages();
+        assertEquals(List.of("1", "2", "3"), replayed.stream().map(this::seqOf).toList());
+    }
+
+    @Test
+    void testFirstUseCreatesSequenceRow() {
+        UUID newUser = UUID.randomUUID();
+        when(userEventSeqRepository.findLastSeq(newUser)).thenReturn(1L);
+
+        assertEquals(1, eventLog.deliver(newUser, "/queue/messages", json(1)));
+        verify(userEventSeqRepository).insertFirst(newUser);
+    }
+
+    @Test
+    void testFirstConnectOnlyReportsCurrentSequence() {
+        eventLog.deliver(userId, "/queue/messages", json(1));
+        clearInvocations(messagingTemplate);
+
+        eventLog.resume(userId, -1);
+
+        verify(messagingTemplate).convertAndSendToUser(userId.toString(), UserEventLog.CONTROL_DESTINATION,
+                new UserEventLog.StreamControl("sync", 1));
+        verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+    }
+}
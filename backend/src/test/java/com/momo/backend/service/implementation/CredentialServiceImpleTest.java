@@ -0,0 +1,52 @@
+package com.momo.backend.service.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialServiceImpleTest {
+
+    private CredentialServiceImple credentialService;
+
+    @BeforeEach
+    void setUp() {
+        // Niedrige Kosten, damit der Test schnell bleibt
+        credentialService = new CredentialServiceImple(new BCryptPasswordEncoder(4), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        credentialService.shutdown();
+    }
+
+    @Test
+    void testHashMatchesRawPassword() {
+        String hash = credentialService.hash("secret");
+
+        assertNotEquals("secret", hash);
+        assertTrue(credentialService.matches("secret", hash));
+        assertFalse(credentialService.matches("wrong", hash));
+    }
+
+    @Test
+    void testHashAllKeepsOrder() {
+        List<String> raw = List.of("a1", "b2", "c3", "d4");
+
+        List<String> hashes = credentialService.hashAll(raw);
+
+        assertEquals(raw.size(), hashes.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertTrue(credentialService.matches(raw.get(i), hashes.get(i)));
+        }
+    }
+
+    @Test
+    void testBlankPasswordIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> credentialService.hash(" "));
+    }
+}
@@ -0,0 +1,175 @@
+package com.momo.backend.service.implementation;
+
+import com.momo.backend.dto.BatchAssignmentRequest;
+import com.momo.backend.dto.TaskAssignmentDto;
+import com.momo.backend.entity.CalendarEntry;
+import com.momo.backend.entity.Employee;
+import com.momo.backend.entity.Manager;
+import com.momo.backend.entity.Task;
+import com.momo.backend.entity.TaskAssignment;
+import com.momo.backend.entity.enums.AssignmentStatus;
+import com.momo.backend.entity.enums.UserRole;
+import com.momo.backend.exception.ResourceNotFoundException;
+import com.momo.backend.mapper.TaskAssignmentMapperImpl;
+import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.EmployeeRepository;
+import com.momo.backend.repository.LeaveRequestRepository;
+import com.momo.backend.repository.TaskAssignmentRepository;
+import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.AvailabilityChangedEvent;
+import com.momo.backend.service.EventOutbox;
+import com.momo.backend.service.interfaces.ChatService;
+import com.momo.backend.service.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskAssignmentServiceImpleTest {
+
+    private final UUID managerId = UUID.randomUUID();
+
+    private TaskAssignmentRepository assignmentRepository;
+    private TaskRepository taskRepository;
+    private EmployeeRepository employeeRepository;
+    private CalendarEntryRepository calendarEntryRepository;
+    private LeaveRequestRepository leaveRequestRepository;
+    private ChatService chatService;
+    private EventOutbox eventOutbox;
+    private ApplicationEventPublisher eventPublisher;
+    private TaskAssignmentServiceImple service;
+
+    private Task task;
+    private Employee first;
+    private Employee second;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepository = mock(TaskAssignmentRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        calendarEntryRepository = mock(CalendarEntryRepository.class);
+        chatService = mock(ChatService.class);
+        eventOutbox = mock(EventOutbox.class);
+        leaveRequestRepository = mock(LeaveRequestRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        service = new TaskAssignmentServiceImple(assignmentRepository, taskRepository, employeeRepository,
+                calendarEntryRepository, chatService, new TaskAssignmentMapperImpl(), eventOutbox,
+                leaveRequestRepository, eventPublisher);
+
+        Manager manager = new Manager();
+        manager.setId(managerId);
+        task = new Task();
+        task.setId(UUID.randomUUID());
+        task.setManager(manager);
+        task.setRequiredEmployees(3);
+        task.setStart(LocalDateTime.of(2030, 1, 7, 8, 0));
+        task.setEnd(LocalDateTime.of(2030, 1, 7, 16, 0));
+        when(taskRepository.findByIdAndManagerId(task.getId(), managerId)).thenReturn(Optional.of(task));
+
+        first = employee();
+        second = employee();
+        when(employeeRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(assignmentRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<TaskAssignment> list = inv.getArgument(0);
+            list.forEach(a -> a.setId(UUID.randomUUID()));
+            return list;
+        });
+
+        AuthenticatedUser principal = AuthenticatedUser.of(managerId, UserRole.MANAGER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Employee employee() {
+        Employee e = new Employee();
+        e.setId(UUID.randomUUID());
+        return e;
+    }
+
+    @Test
+    void testDeleteAssignmentRemovesCalendarEntryFromAvailabilityIndex() {
+        UUID assignmentId = UUID.randomUUID();
+        when(assignmentRepository.findDtoById(assignmentId)).thenReturn(Optional.of(new TaskAssignmentDto(
+                assignmentId, task.getId(), first.getId(), managerId, AssignmentStatus.ACCEPTED, null)));
+        CalendarEntry entry = new CalendarEntry();
+        entry.setId(UUID.randomUUID());
+        when(calendarEntryRepository.findByTaskIdAndEmployeeId(task.getId(), first.getId()))
+                .thenReturn(Optional.of(entry));
+
+        service.deleteAssignment(assignmentId);
+
+        verify(calendarEntryRepository).delete(entry);
+        verify(eventPublisher).publishEvent(AvailabilityChangedEvent.removed(entry.getId()));
+        verify(assignmentRepository).deleteByIdDirect(assignmentId);
+    }
+
+    @Test
+    void testBatchCreatesAllAssignmentsWithOneSaveAndOneEventPerRecipient() {
+        List<TaskAssignmentDto> result = service.createAssignments(new BatchAssignmentRequest(
+                task.getId(), List.of(first.getId(), second.getId(), first.getId()), null));
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(dto -> dto.getStatus() == AssignmentStatus.PENDING));
+        verify(assignmentRepository, times(1)).saveAll(anyList());
+        verify(assignmentRepository, never()).save(any());
+        verify(eventOutbox).publish(eq(List.of(first.getId())), eq("/queue/assignments"), any(Object.class));
+        verify(eventOutbox).publish(eq(List.of(second.getId())), eq("/queue/assignments"), any(Object.class));
+        verify(eventOutbox).publish(List.of(managerId), "/queue/assignments", result);
+        verifyNoInteractions(chatService);
+    }
+
+    @Test
+    void testAcceptedBatchUpdatesChatAndCalendarOnce() {
+        when(calendarEntryRepository.findByTaskId(task.getId())).thenReturn(List.of());
+
+        service.createAssignments(new BatchAssignmentRequest(
+                task.getId(), List.of(first.getId(), second.getId()), AssignmentStatus.ACCEPTED));
+
+        verify(chatService, times(1)).addMembersToTaskChat(task.getId(), Set.of(first.getId(), second.getId()));
+        verify(chatService, never()).addMemberToTaskChat(any(), any());
+        verify(calendarEntryRepository, times(1)).saveAll(argThat(entries -> ((List<?>) entries).size() == 2));
+    }
+
+    @Test
+    void testBatchFailsWhenAnEmployeeIsMissing() {
+        when(employeeRepository.findAllById(any())).thenReturn(List.of(first));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.createAssignments(new BatchAssignmentRequest(
+                task.getId(), List.of(first.getId(), second.getId()), null)));
+        verify(assignmentRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testBatchIsRejectedWhenTheDatabaseReportsAConflict() {
+        when(calendarEntryRepository.findBusyEmployeeIds(anyCollection(), eq(task.getStart()), eq(task.getEnd()),
+                eq(task.getId()))).thenReturn(List.of(second.getId()));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.createAssignments(
+                new BatchAssignmentRequest(task.getId(), List.of(first.getId(), second.getId()), null)));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(employeeRepository).lockByIds(Set.of(first.getId(), second.getId()));
+        verify(assignmentRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.momo.backend.service.implementation;
+
+import com.momo.backend.dto.TaskCandidateDto;
+import com.momo.backend.entity.Task;
+import com.momo.backend.entity.enums.UserRole;
+import com.momo.backend.mapper.TaskMapper;
+import com.momo.backend.repository.CalendarEntryRepository;
+import com.momo.backend.repository.EmployeeRepository;
+import com.momo.backend.repository.LeaveRequestRepository;
+import com.momo.backend.repository.ManagerRepository;
+import com.momo.backend.repository.TaskAssignmentRepository;
+import com.momo.backend.repository.TaskRepository;
+import com.momo.backend.service.AvailabilityIndex;
+import com.momo.backend.service.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskServiceImpleTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 6, 8, 0);
+    private static final LocalDateTime END = START.plusHours(8);
+
+    private final UUID managerId = UUID.randomUUID();
+    private final UUID taskId = UUID.randomUUID();
+
+    private TaskRepository taskRepository;
+    private EmployeeRepository employeeRepository;
+    private TaskAssignmentRepository assignmentRepository;
+    private AvailabilityIndex availabilityIndex;
+    private TaskServiceImple service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        assignmentRepository = mock(TaskAssignmentRepository.class);
+        CalendarEntryRepository calendarEntryRepository = mock(CalendarEntryRepository.class);
+        LeaveRequestRepository leaveRequestRepository = mock(LeaveRequestRepository.class);
+        when(calendarEntryRepository.findSlotsEndingAfter(any())).thenReturn(List.of());
+        when(leaveRequestRepository.findApprovedSlotsEndingAfter(any())).thenReturn(List.of());
+        availabilityIndex = new AvailabilityIndex(calendarEntryRepository, leaveRequestRepository);
+        ReflectionTestUtils.setField(availabilityIndex, "historyDays", 30L);
+
+        service = new TaskServiceImple(taskRepository, mock(ManagerRepository.class), calendarEntryRepository,
+                mock(TaskMapper.class), employeeRepository, assignmentRepository, availabilityIndex,
+                mock(ApplicationEventPublisher.class));
+
+        Task task = new Task();
+        task.setId(taskId);
+        task.setStart(START);
+        task.setEnd(END);
+        when(taskRepository.findByIdAndManagerId(taskId, managerId)).thenReturn(Optional.of(task));
+
+        AuthenticatedUser principal = AuthenticatedUser.of(managerId, UserRole.MANAGER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private TaskCandidateDto candidate(String name, Double rate) {
+        return new TaskCandidateDto(UUID.randomUUID(), name, "Worker", rate, true);
+    }
+
+    private void busy(TaskCandidateDto candidate, AvailabilityIndex.Kind kind) {
+        availabilityIndex.put(new AvailabilityIndex.Slot(UUID.randomUUID(), kind, candidate.getEmployeeId(), null,
+                START.plusHours(1), START.plusHours(2)));
+    }
+
+    @Test
+    void testCandidatesAreRankedByAvailabilityThenRate() {
+        TaskCandidateDto expensive = candidate("Teuer", 40.0);
+        TaskCandidateDto cheap = candidate("Guenstig", 15.0);
+        TaskCandidateDto noRate = candidate("OhneSatz", null);
+        TaskCandidateDto conflicting = candidate("Verplant", 10.0);
+        TaskCandidateDto onLeave = candidate("Urlaub", 5.0);
+        TaskCandidateDto assigned = candidate("Schon dabei", 1.0);
+        busy(conflicting, AvailabilityIndex.Kind.CALENDAR);
+        busy(onLeave, AvailabilityIndex.Kind.LEAVE);
+
+        when(employeeRepository.findCandidatesByManagerId(managerId))
+                .thenReturn(List.of(onLeave, expensive, conflicting, noRate, cheap, assigned));
+        when(assignmentRepository.findEmployeeIdsByTaskId(taskId)).thenReturn(List.of(assigned.getEmployeeId()));
+
+        List<TaskCandidateDto> result = service.getCandidates(taskId, 10);
+
+        assertEquals(List.of("Guenstig", "Teuer", "OhneSatz", "Verplant", "Urlaub"),
+                result.stream().map(TaskCandidateDto::getFirstName).toList());
+        assertTrue(result.getFirst().isFree());
+        assertEquals(1, result.get(3).getConflictCount());
+        assertTrue(result.get(4).isOnLeave());
+    }
+
+    @Test
+    void testCandidatesAreLimited() {
+        when(employeeRepository.findCandidatesByManagerId(managerId))
+                .thenReturn(List.of(candidate("A", 30.0), candidate("B", 20.0), candidate("C", 10.0)));
+        when(assignmentRepository.findEmployeeIdsByTaskId(taskId)).thenReturn(List.of());
+
+        List<TaskCandidateDto> result = service.getCandidates(taskId, 2);
+
+        assertEquals(List.of("C", "B"), result.stream().map(TaskCandidateDto::getFirstName).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.getCandidates(taskId, 0));
+    }
+}
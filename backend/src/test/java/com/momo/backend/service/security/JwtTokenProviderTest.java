@@ -0,0 +1,123 @@
+package com.momo.backend.service.security;
+
+import com.momo.backend.entity.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider provider;
+
+    private JwtTokenProvider createProvider(String secret, long ttlMs) {
+        JwtTokenProvider p = new JwtTokenProvider();
+        ReflectionTestUtils.setField(p, "secret", secret);
+        ReflectionTestUtils.setField(p, "expirationMs", ttlMs);
+        ReflectionTestUtils.setField(p, "streamTokenTtlMs", ttlMs);
+        ReflectionTestUtils.setField(p, "claimsCacheMaxEntries", 2);
+        p.init();
+        return p;
+    }
+
+    @BeforeEach
+    void setUp() {
+        provider = createProvider("unit-test-secret-32chars-long-123456", 60_000);
+    }
+
+    private String token(String uid) {
+        return provider.generateToken(uid + "@test.de", Map.of("uid", uid, "role", "MANAGER"));
+    }
+
+    @Test
+    void testRepeatedParseReturnsCachedClaims() {
+        String token = token(UUID.randomUUID().toString());
+
+        Claims first = provider.parseClaims(token);
+        Claims second = provider.parseClaims(token);
+
+        assertSame(first, second);
+        assertEquals("MANAGER", second.get("role", String.class));
+    }
+
+    @Test
+    void testResolvePrincipalParsesIdAndRoleOnce() {
+        UUID uid = UUID.randomUUID();
+        String token = token(uid.toString());
+
+        AuthenticatedUser principal = provider.resolvePrincipal(token).orElseThrow();
+
+        assertEquals(uid, principal.id());
+        assertEquals(uid.toString(), principal.getName());
+        assertTrue(principal.hasRole(UserRole.MANAGER));
+        assertFalse(principal.hasRole(UserRole.EMPLOYEE));
+        assertSame(principal, provider.resolvePrincipal(token).orElseThrow());
+    }
+
+    @Test
+    void testResolvePrincipalEmptyForInvalidUid() {
+        String token = provider.generateToken("x@test.de", Map.of("uid", "kein-uuid", "role", "MANAGER"));
+
+        assertTrue(provider.validateToken(token));
+        assertTrue(provider.resolvePrincipal(token).isEmpty());
+    }
+
+    @Test
+    void testTokenWithForeignSignatureIsRejected() {
+        JwtTokenProvider other = createProvider("another-secret-32chars-long-6543210", 60_000);
+        String foreign = other.generateToken("x@test.de", Map.of("uid", "x", "role", "EMPLOYEE"));
+
+        assertTrue(provider.resolveClaims(foreign).isEmpty());
+        assertFalse(provider.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        JwtTokenProvider shortLived = createProvider("unit-test-secret-32chars-long-123456", -1_000);
+        String expired = shortLived.generateToken("x@test.de", Map.of("uid", "x", "role", "EMPLOYEE"));
+
+        assertTrue(provider.resolveClaims(expired).isEmpty());
+    }
+
+    @Test
+    void testStreamTokenIsOnlyAcceptedForStreams() {
+        UUID uid = UUID.randomUUID();
+        String streamToken = provider.generateStreamToken(AuthenticatedUser.of(uid, UserRole.EMPLOYEE));
+        String token = token(uid.toString());
+
+        assertEquals(uid, provider.resolveStreamPrincipal(streamToken).orElseThrow().id());
+        assertTrue(provider.resolvePrincipal(streamToken).isEmpty());
+        assertTrue(provider.resolveStreamPrincipal(token).isEmpty());
+    }
+
+    @Test
+    void testCacheStaysBounded() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(provider.validateToken(token("user" + i)));
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, ?> cache = (Map<String, ?>) ReflectionTestUtils.getField(provider, "claimsCache");
+        assertNotNull(cache);
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test
+    void testEvictionShrinksCacheToLowWaterMark() {
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxEntries", 20);
+        for (int i = 0; i < 21; i++) {
+            assertTrue(provider.validateToken(token("user" + i)));
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, ?> cache = (Map<String, ?>) ReflectionTestUtils.getField(provider, "claimsCache");
+        assertNotNull(cache);
+        // 90% von 20 behalten, dazu der neue Eintrag
+        assertEquals(19, cache.size());
+    }
+}
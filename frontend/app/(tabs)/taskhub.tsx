@@ -2,9 +2,10 @@ import { useAppSelector } from "@/src/hooks/useRedux";
 import OpenTasksList from "@/src/screens/Tasks/OpenTasksList";
 import TaskDashboard from "@/src/screens/Tasks/TaskDashboard";
 import {
-  assignEmployeeToTask,
+  assignEmployeesToTask,
   fetchAssignmentsForTask,
   fetchManagerCalendarEvents,
+  fetchTaskCandidates,
   fetchTasksForManager,
   listEmployeesUnderManager,
 } from "@/src/services/api";
@@ -17,6 +18,7 @@ import {
   Employee,
   Task,
   TaskAssignment,
+  TaskCandidate,
   UserRole,
 } from "@/src/types/resources";
 import { useRouter } from "expo-router";
@@ -70,6 +72,8 @@ export default function CreateHub() {
     []
   );
   const [assigningTaskId, setAssigningTaskId] = useState<string | null>(null);
+  // Rangliste vom Backend fuer die ausgewaehlte Task (freie + guenstige zuerst)
+  const [candidates, setCandidates] = useState<TaskCandidate[]>([]);
 
   const busyEventFor = useCallback(
     (employeeId: string, startIso: string, endIso: string) => {
@@ -133,12 +137,22 @@ export default function CreateHub() {
 
   const availableEmployeesForTask = useCallback(
     (task: Task) => {
-      return employees.map((emp, idx) => {
+      const rows = employees.map((emp, idx) => {
         const busy = busyEventFor(emp.id, task.start, task.end);
         return { emp, busy, colorIndex: idx };
       });
+      if (task.id !== selectedTaskId || candidates.length === 0) {
+        return rows;
+      }
+      // Reihenfolge der Kandidaten uebernehmen; nicht gelistete (schon angefragt) ans Ende
+      const rank = new Map(candidates.map((c, i) => [c.employeeId, i]));
+      return rows.sort(
+        (a, b) =>
+          (rank.get(a.emp.id) ?? Number.MAX_SAFE_INTEGER) -
+          (rank.get(b.emp.id) ?? Number.MAX_SAFE_INTEGER)
+      );
     },
-    [employees, busyEventFor]
+    [employees, busyEventFor, selectedTaskId, candidates]
   );
 
   // Guards -------------------------------------------------------------------
@@ -200,24 +214,33 @@ export default function CreateHub() {
 
   useEffect(() => {
     setSelectedTaskEmployees([]);
-  }, [selectedTaskId]);
+    setCandidates([]);
+    if (!token || !selectedTaskId) return;
+    let cancelled = false;
+    fetchTaskCandidates(selectedTaskId, token, 200)
+      .then((list) => {
+        if (!cancelled) setCandidates(list);
+      })
+      .catch(() => {
+        // ohne Rangliste bleibt die bisherige Reihenfolge
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [selectedTaskId, token]);
 
   // Actions ------------------------------------------------------------------
   const handleAssignSelected = async () => {
     if (!token || !selectedTask || selectedTaskEmployees.length === 0) return;
     try {
       setAssigningTaskId(selectedTask.id);
-      await Promise.all(
-        selectedTaskEmployees.map((empId) =>
-          assignEmployeeToTask(
-            {
-              taskId: selectedTask.id,
-              employeeId: empId,
-              status: AssignmentStatus.PENDING,
-            },
-            token
-          )
-        )
+      await assignEmployeesToTask(
+        {
+          taskId: selectedTask.id,
+          employeeIds: selectedTaskEmployees,
+          status: AssignmentStatus.PENDING,
+        },
+        token
       );
       Alert.alert(
         "Anfrage gesendet",
@@ -1,6 +1,6 @@
 import { useAppSelector } from "@/src/hooks/useRedux";
 import {
-  assignEmployeeToTask,
+  assignEmployeesToTask,
   createTaskApi,
   fetchManagerCalendarEvents,
   listEmployeesUnderManager,
@@ -125,17 +125,13 @@ export default function TaskCreateScreen() {
       const limit = Math.max(1, Number(requiredEmployees) || 1);
       const assignees = createSelectedEmployees.slice(0, limit);
       if (assignees.length > 0) {
-        await Promise.all(
-          assignees.map((empId) =>
-            assignEmployeeToTask(
-              {
-                taskId: task.id,
-                employeeId: empId,
-                status: AssignmentStatus.PENDING,
-              },
-              token
-            )
-          )
+        await assignEmployeesToTask(
+          {
+            taskId: task.id,
+            employeeIds: assignees,
+            status: AssignmentStatus.PENDING,
+          },
+          token
         );
       }
 
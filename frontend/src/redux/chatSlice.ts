@@ -1,11 +1,19 @@
 import {
   createDirectChatApi,
   listChats,
+  listChatSummaries,
   listMessages,
+  listMessagesSince,
+  markChatReadApi,
   sendChatMessageApi,
 } from "@/src/services/api";
 import { createAsyncThunk, createSlice, PayloadAction } from "@reduxjs/toolkit";
-import { ChatMessage, ChatRoom } from "../types/resources";
+import {
+  ChatMessage,
+  ChatPresence,
+  ChatRoom,
+  ChatSummary,
+} from "../types/resources";
 import { RootState } from "./store";
 import { clearToken } from "./authSlice";
 
@@ -14,9 +22,13 @@ type ChatState = {
   messages: Record<string, ChatMessage[]>;
   loadingRooms: boolean;
   loadingMessages: Record<string, boolean>;
+  // Nachladen aelterer Nachrichten: laeuft gerade / Anfang der Historie erreicht
+  loadingOlder: Record<string, boolean>;
+  hasMoreOlder: Record<string, boolean>;
   sending: boolean;
   error: string | null;
   unreadCounts: Record<string, number>;
+  presence: Record<string, ChatPresence>;
 };
 
 const initialState: ChatState = {
@@ -24,11 +36,17 @@ const initialState: ChatState = {
   messages: {},
   loadingRooms: false,
   loadingMessages: {},
+  loadingOlder: {},
+  hasMoreOlder: {},
   sending: false,
   error: null,
   unreadCounts: {},
+  presence: {},
 };
 
+// Seitengroesse beim Laden der Historie; weniger Treffer = Anfang erreicht
+const MESSAGE_PAGE_SIZE = 50;
+
 export const fetchChatRooms = createAsyncThunk<ChatRoom[], { token: string }>(
   "chat/fetchRooms",
   async ({ token }) => listChats(token)
@@ -38,10 +56,68 @@ export const fetchMessagesForChat = createAsyncThunk<
   { chatId: string; messages: ChatMessage[] },
   { chatId: string; token: string }
 >("chat/fetchMessages", async ({ chatId, token }) => {
-  const messages = await listMessages(chatId, token);
+  const messages = await listMessages(
+    chatId,
+    token,
+    undefined,
+    MESSAGE_PAGE_SIZE
+  );
   return { chatId, messages };
 });
 
+export const fetchChatSummary = createAsyncThunk<
+  ChatSummary[],
+  { token: string }
+>("chat/fetchSummary", async ({ token }) => listChatSummaries(token));
+
+export const markChatRead = createAsyncThunk<
+  string,
+  { chatId: string; token: string }
+>("chat/markRead", async ({ chatId, token }) => {
+  await markChatReadApi(chatId, token);
+  return chatId;
+});
+
+export const fetchOlderMessagesForChat = createAsyncThunk<
+  { chatId: string; messages: ChatMessage[] },
+  { chatId: string; token: string },
+  { state: { chat: ChatState } }
+>(
+  "chat/fetchOlderMessages",
+  async ({ chatId, token }, { getState }) => {
+    const current = getState().chat.messages[chatId];
+    const messages = await listMessages(
+      chatId,
+      token,
+      current[0].id,
+      MESSAGE_PAGE_SIZE
+    );
+    return { chatId, messages };
+  },
+  {
+    // kein zweiter Request parallel, keiner nach dem Ende der Historie
+    condition: ({ chatId }, { getState }) => {
+      const { messages, loadingOlder, hasMoreOlder } = getState().chat;
+      return (
+        !!messages[chatId]?.length &&
+        !loadingOlder[chatId] &&
+        hasMoreOlder[chatId] !== false
+      );
+    },
+  }
+);
+
+export const fetchNewMessagesForChat = createAsyncThunk<
+  { chatId: string; messages: ChatMessage[] },
+  { chatId: string; token: string },
+  { state: { chat: ChatState } }
+>("chat/fetchNewMessages", async ({ chatId, token }, { getState }) => {
+  const current = getState().chat.messages[chatId] ?? [];
+  const after = current.length ? current[current.length - 1].id : undefined;
+  const delta = await listMessagesSince(chatId, token, after);
+  return { chatId, messages: delta?.messages ?? [] };
+});
+
 export const createDirectChat = createAsyncThunk<
   ChatRoom,
   { managerId: string; employeeId: string; token: string }
@@ -116,6 +192,10 @@ const chatSlice = createSlice({
     setRooms(state, action: PayloadAction<ChatRoom[]>) {
       state.rooms = action.payload;
     },
+    // Server schickt immer den vollstaendigen Stand eines Chats -> einfach ersetzen
+    setChatPresence(state, action: PayloadAction<ChatPresence>) {
+      state.presence[action.payload.chatId] = action.payload;
+    },
   },
   extraReducers: (builder) => {
     builder
@@ -138,6 +218,8 @@ const chatSlice = createSlice({
       .addCase(fetchMessagesForChat.fulfilled, (state, action) => {
         state.loadingMessages[action.payload.chatId] = false;
         state.messages[action.payload.chatId] = action.payload.messages;
+        state.hasMoreOlder[action.payload.chatId] =
+          action.payload.messages.length >= MESSAGE_PAGE_SIZE;
       })
       .addCase(fetchMessagesForChat.rejected, (state, action) => {
         const chatId = action.meta.arg.chatId;
@@ -145,6 +227,50 @@ const chatSlice = createSlice({
         state.error =
           action.error.message || "Nachrichten konnten nicht geladen werden.";
       })
+      .addCase(fetchNewMessagesForChat.fulfilled, (state, action) => {
+        const { chatId, messages } = action.payload;
+        if (!messages.length) return;
+        const current = state.messages[chatId] || [];
+        const known = new Set(current.map((m) => m.id));
+        state.messages[chatId] = [
+          ...current,
+          ...messages.filter((m) => !known.has(m.id)),
+        ];
+      })
+      .addCase(fetchChatSummary.fulfilled, (state, action) => {
+        const byId = new Map(action.payload.map((s) => [s.chatId, s]));
+        action.payload.forEach((s) => {
+          state.unreadCounts[s.chatId] = s.unreadCount;
+        });
+        state.rooms.forEach((room) => {
+          const summary = byId.get(room.id);
+          if (summary) {
+            room.lastMessagePreview = summary.lastMessagePreview ?? undefined;
+            room.lastMessageAt = summary.lastMessageAt ?? null;
+          }
+        });
+      })
+      .addCase(markChatRead.fulfilled, (state, action) => {
+        state.unreadCounts[action.payload] = 0;
+      })
+      .addCase(fetchOlderMessagesForChat.pending, (state, action) => {
+        state.loadingOlder[action.meta.arg.chatId] = true;
+      })
+      .addCase(fetchOlderMessagesForChat.rejected, (state, action) => {
+        state.loadingOlder[action.meta.arg.chatId] = false;
+      })
+      .addCase(fetchOlderMessagesForChat.fulfilled, (state, action) => {
+        const { chatId, messages } = action.payload;
+        state.loadingOlder[chatId] = false;
+        state.hasMoreOlder[chatId] = messages.length >= MESSAGE_PAGE_SIZE;
+        if (!messages.length) return;
+        const current = state.messages[chatId] || [];
+        const known = new Set(current.map((m) => m.id));
+        state.messages[chatId] = [
+          ...messages.filter((m) => !known.has(m.id)),
+          ...current,
+        ];
+      })
       .addCase(createDirectChat.fulfilled, (state, action) => {
         const idx = state.rooms.findIndex((r) => r.id === action.payload.id);
         if (idx >= 0) {
@@ -178,5 +304,6 @@ export const {
   addMessage,
   setRooms,
   setMessagesForChat,
+  setChatPresence,
 } = chatSlice.actions;
 export default chatSlice.reducer;
@@ -1,6 +1,10 @@
 import { useOpenDirectChat } from "@/src/hooks/useOpenDirectChat";
 import { useAppDispatch, useAppSelector } from "@/src/hooks/useRedux";
-import { fetchChatRooms, setRooms } from "@/src/redux/chatSlice";
+import {
+  fetchChatRooms,
+  fetchChatSummary,
+  setRooms,
+} from "@/src/redux/chatSlice";
 import EmployeePicker from "@/src/screens/Inbox/components/EmployeePicker";
 import { Manager, UserRole } from "@/src/types/resources";
 import { loadChatRooms } from "@/src/services/chatCache";
@@ -45,7 +49,11 @@ export default function ChatsTab({
   }, [dispatch]);
 
   useEffect(() => {
-    if (token) dispatch(fetchChatRooms({ token }));
+    if (!token) return;
+    // Raeume laden, danach Vorschau + Unread-Counts in einem Request
+    dispatch(fetchChatRooms({ token })).then(() =>
+      dispatch(fetchChatSummary({ token }))
+    );
   }, [token, dispatch]);
 
   // Stop showing the loader if it spins too long (e.g. offline/timeout).
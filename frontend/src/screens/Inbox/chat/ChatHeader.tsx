@@ -1,4 +1,5 @@
 import { useChatPartner } from "@/src/hooks/useChatPartner";
+import { useAppSelector } from "@/src/hooks/useRedux";
 import { ChatRoom } from "@/src/types/resources";
 import { useRouter } from "expo-router";
 import { Pressable, Text, View } from "react-native";
@@ -13,7 +14,13 @@ export default function ChatHeader({
   const router = useRouter();
 
   // Partner automatisch laden
-  const { partner } = useChatPartner(room);
+  const { partner, partnerId } = useChatPartner(room);
+
+  // Presence kommt live ueber den WebSocket (useWebSockets)
+  const presence = useAppSelector((s) => s.chat.presence[room.id]);
+  const partnerTyping = !!partnerId && !!presence?.typing.includes(partnerId);
+  const partnerOnline = !!partnerId && !!presence?.online.includes(partnerId);
+  const roleLabel = partner?.role === "MANAGER" ? "Manager" : "Employee";
 
   return (
     <View style={styles.chatHeaderContainer}>
@@ -33,7 +40,11 @@ export default function ChatHeader({
 
         {partner && (
           <Text style={styles.chatHeaderSubtitle}>
-            {partner.role === "MANAGER" ? "Manager" : "Employee"}
+            {partnerTyping
+              ? "schreibt..."
+              : partnerOnline
+              ? `${roleLabel} · online`
+              : roleLabel}
           </Text>
         )}
       </View>
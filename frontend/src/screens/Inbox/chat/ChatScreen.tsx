@@ -24,18 +24,19 @@ export default function ChatScreen({
   const { id } = useLocalSearchParams<{ id: string }>();
   const router = useRouter();
 
-  const { room, user, messages, sending, handleSend } = useChatView(
-    id as string
-  );
+  const { room, user, messages, sending, handleSend, handleTyping, loadOlder } =
+    useChatView(id as string);
 
   const scrollViewRef = useRef<ScrollView>(null);
   const keyboardOffset =
     Platform.OS === "ios" ? insets.top + 12 : insets.top + 24;
   const bottomInset = insets.bottom || 0;
 
+  // nur bei neuen Nachrichten ans Ende scrollen, nicht beim Nachladen alter
+  const lastMessageId = messages[messages.length - 1]?.id;
   useEffect(() => {
     scrollViewRef.current?.scrollToEnd({ animated: true });
-  }, [messages]);
+  }, [lastMessageId]);
 
   if (!room) {
     return (
@@ -73,9 +74,12 @@ export default function ChatScreen({
           ]}
           showsVerticalScrollIndicator={false}
           keyboardShouldPersistTaps="handled"
-          onContentSizeChange={() =>
-            scrollViewRef.current?.scrollToEnd({ animated: true })
-          }
+          scrollEventThrottle={200}
+          onScroll={(e) => {
+            if (e.nativeEvent.contentOffset.y <= 0) {
+              loadOlder();
+            }
+          }}
         >
           {messages.length === 0 ? (
             <Text style={{ color: palette.secondary, opacity: 0.8 }}>
@@ -95,6 +99,7 @@ export default function ChatScreen({
 
         <MessageInput
           onSend={handleSend}
+          onTyping={handleTyping}
           sending={sending}
           styles={styles}
           palette={palette}
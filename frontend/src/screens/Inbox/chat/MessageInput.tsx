@@ -16,18 +16,21 @@ import { Pressable, Text, TextInput, View } from "react-native";
  * - Hält ChatView schlank & readable
  *
  * @param onSend      Callback zum Senden (string)
+ * @param onTyping    Optional: meldet, ob gerade Text im Feld steht (Tipp-Anzeige)
  * @param sending     Bool: ob gerade eine Nachricht gesendet wird
  * @param styles      StyleSheet aus makeStyles()
  * @param palette     Farben aus ThemeProvider
  */
 export default function MessageInput({
   onSend,
+  onTyping,
   sending,
   styles,
   palette,
   bottomInset = 0,
 }: {
   onSend: (text: string) => void;
+  onTyping?: (typing: boolean) => void;
   sending: boolean;
   styles: any;
   palette: any;
@@ -35,6 +38,11 @@ export default function MessageInput({
 }) {
   const [text, setText] = useState("");
 
+  const handleChange = (value: string) => {
+    setText(value);
+    onTyping?.(value.trim().length > 0);
+  };
+
   const handleSend = () => {
     if (!text.trim() || sending) return;
     onSend(text);
@@ -54,7 +62,7 @@ export default function MessageInput({
         placeholder="Nachricht schreiben..."
         placeholderTextColor={palette.secondary}
         value={text}
-        onChangeText={setText}
+        onChangeText={handleChange}
       />
 
       {/* Senden Button */}
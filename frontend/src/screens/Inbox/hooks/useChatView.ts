@@ -3,9 +3,16 @@ import { useAppDispatch, useAppSelector } from "@/src/hooks/useRedux";
 import {
   addMessage,
   fetchMessagesForChat,
+  fetchNewMessagesForChat,
+  fetchOlderMessagesForChat,
+  markChatRead,
   sendChatMessage,
 } from "@/src/redux/chatSlice";
-import { subscribeUserMessages } from "@/src/services/wsClient";
+import {
+  onEventStreamResync,
+  sendTyping,
+  subscribeUserMessages,
+} from "@/src/services/wsClient";
 import { ChatMessage, ChatRoom } from "@/src/types/resources";
 import { useCallback, useEffect, useMemo } from "react";
 
@@ -16,7 +23,7 @@ const EMPTY_MESSAGES: ChatMessage[] = [];
  * --------------------------------------
  * B�ndelt die Chat-spezifische Logik f�r den Detail-Screen:
  * - Raum + Partner ermitteln
- * - Nachrichten laden / Polling
+ * - Nachrichten laden / Nachladen nach Resync
  * - WebSocket-Subscribe f�r neue Messages
  * - Nachricht senden
  */
@@ -48,13 +55,12 @@ export function useChatView(chatId?: string) {
     }
   }, [token, chatId, dispatch]);
 
-  // Polling (Fallback f�r verpasste WS-Events)
+  // Verpasste Events nicht mehr nachlieferbar -> Delta seit der letzten bekannten Nachricht laden
   useEffect(() => {
     if (!token || !chatId) return;
-    const interval = setInterval(() => {
-      dispatch(fetchMessagesForChat({ chatId, token }));
-    }, 2000);
-    return () => clearInterval(interval);
+    return onEventStreamResync(() => {
+      dispatch(fetchNewMessagesForChat({ chatId, token }));
+    });
   }, [token, chatId, dispatch]);
 
   // WS Subscribe f�r Nachrichten
@@ -76,9 +82,23 @@ export function useChatView(chatId?: string) {
     return () => sub.disconnect();
   }, [token, user?.id, chatId, dispatch]);
 
+  // Tipp-Status (wsClient drosselt); beim Verlassen des Chats zuruecksetzen
+  const handleTyping = useCallback(
+    (typing: boolean) => {
+      if (chatId) sendTyping(chatId, typing);
+    },
+    [chatId]
+  );
+
+  useEffect(() => {
+    if (!chatId) return;
+    return () => sendTyping(chatId, false);
+  }, [chatId]);
+
   const handleSend = useCallback(
     async (text: string) => {
       if (!chatId || !text.trim() || !token) return;
+      sendTyping(chatId, false);
       await dispatch(
         sendChatMessage({ chatId, text: text.trim(), token })
       ).unwrap();
@@ -86,6 +106,25 @@ export function useChatView(chatId?: string) {
     [chatId, token, dispatch]
   );
 
+  // Lesestand nachziehen, sobald eine neue letzte Nachricht sichtbar ist
+  const lastMessageId = messages[messages.length - 1]?.id;
+  useEffect(() => {
+    if (!token || !chatId || !lastMessageId) return;
+    dispatch(markChatRead({ chatId, token }));
+  }, [token, chatId, lastMessageId, dispatch]);
+
+  // aeltere Nachrichten nachladen (Scroll nach oben)
+  const loadingOlder = useAppSelector((state) =>
+    chatId ? !!state.chat.loadingOlder[chatId] : false
+  );
+  const hasMoreOlder = useAppSelector((state) =>
+    chatId ? state.chat.hasMoreOlder[chatId] !== false : false
+  );
+  const loadOlder = useCallback(() => {
+    if (!chatId || !token || loadingOlder || !hasMoreOlder) return;
+    dispatch(fetchOlderMessagesForChat({ chatId, token }));
+  }, [chatId, token, loadingOlder, hasMoreOlder, dispatch]);
+
   return {
     room,
     partner,
@@ -93,5 +132,7 @@ export function useChatView(chatId?: string) {
     messages,
     sending,
     handleSend,
+    handleTyping,
+    loadOlder,
   };
 }
@@ -125,7 +125,10 @@ export function useRequests() {
       (payload) => {
         const dto = payload?.payload ?? payload;
         if (dto) {
-          dispatch(upsertAssignment(dto));
+          // Batch-Zuweisungen kommen beim Manager als Liste an
+          (Array.isArray(dto) ? dto : [dto]).forEach((item) =>
+            dispatch(upsertAssignment(item))
+          );
           setWsAssignmentsStatus("connected");
         }
       },
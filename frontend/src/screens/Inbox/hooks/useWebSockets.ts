@@ -1,13 +1,21 @@
 import { useAppDispatch, useAppSelector } from "@/src/hooks/useRedux";
-import { addMessage } from "@/src/redux/chatSlice";
-import { upsertRequest } from "@/src/redux/requestSlice";
+import {
+  addMessage,
+  fetchChatRooms,
+  fetchChatSummary,
+  setChatPresence,
+} from "@/src/redux/chatSlice";
+import { fetchRequests, upsertRequest } from "@/src/redux/requestSlice";
 import { upsertAssignment } from "@/src/redux/assignmentSlice";
 import {
+  onEventStreamResync,
+  subscribeChatPresence,
   subscribeUserMessages,
   subscribeUserRequests,
   subscribeUserAssignments,
 } from "@/src/services/wsClient";
-import { ChatMessage } from "@/src/types/resources";
+import { fetchAssignmentsForEmployee } from "@/src/services/api";
+import { ChatMessage, UserRole } from "@/src/types/resources";
 import { useEffect, useState } from "react";
 
 /**
@@ -16,6 +24,7 @@ import { useEffect, useState } from "react";
  * Dieser Hook bündelt die gesamte WebSocket-Logik für:
  * - Live-Nachrichten (Chats)
  * - Live-Request-Updates (Manager/Employee-Requests)
+ * - Online-/Tipp-Status pro Chat (Presence)
  *
  * Warum existiert dieser Hook?
  * - WebSocket-Verbindungen sollen überall gleich verwaltet werden
@@ -27,6 +36,7 @@ import { useEffect, useState } from "react";
  * - Verbindung zu beiden WebSocket-Streams aufbauen
  * - Nachrichten & Requests an Redux weiterleiten
  * - Verbindungsstatus verwalten (idle / connected / error)
+ * - Nach einem "resync" (Events nicht nachlieferbar) einmal per REST nachladen
  * - Beim Unmount sauber disconnecten
  *
  * @returns Ein Objekt mit:
@@ -39,6 +49,7 @@ export function useWebSockets() {
   // ==== Auth-Daten ===========================================================
   const token = useAppSelector((s) => s.auth.token?.token);
   const userId = useAppSelector((s) => s.auth.user?.id);
+  const role = useAppSelector((s) => s.auth.user?.role);
 
   // ==== Verbindungstatus für beide WebSockets ================================
   const [wsMessagesStatus, setWsMessagesStatus] = useState<
@@ -103,7 +114,10 @@ export function useWebSockets() {
       (payload) => {
         const dto = payload?.payload ?? payload;
         if (dto) {
-          dispatch(upsertAssignment(dto));
+          // Batch-Zuweisungen kommen beim Manager als Liste an
+          (Array.isArray(dto) ? dto : [dto]).forEach((item) =>
+            dispatch(upsertAssignment(item))
+          );
         }
         setWsAssignmentsStatus("connected");
       },
@@ -116,6 +130,33 @@ export function useWebSockets() {
     };
   }, [token, dispatch]);
 
+  // ==== Presence WebSocket ==================================================
+  useEffect(() => {
+    if (!token) return;
+
+    const ws = subscribeChatPresence(token, (payload) => {
+      if (payload?.chatId) dispatch(setChatPresence(payload));
+    });
+
+    return () => ws.disconnect();
+  }, [token, dispatch]);
+
+  // ==== Resync: Stand einmal neu laden ======================================
+  useEffect(() => {
+    if (!token || !userId || !role) return;
+
+    return onEventStreamResync(() => {
+      dispatch(fetchChatRooms({ token }));
+      dispatch(fetchChatSummary({ token }));
+      dispatch(fetchRequests({ userId, role, token }));
+      if (role === UserRole.EMPLOYEE) {
+        fetchAssignmentsForEmployee(userId, token)
+          .then((data) => data.forEach((dto) => dispatch(upsertAssignment(dto))))
+          .catch(() => {});
+      }
+    });
+  }, [token, userId, role, dispatch]);
+
   return {
     wsMessagesStatus,
     wsRequestsStatus,
@@ -2,6 +2,7 @@ import { Buffer } from "buffer";
 import {
   ChatMessage,
   ChatRoom,
+  ChatSummary,
   CalendarEvent,
   LoginResponse,
   RegisterRequest,
@@ -9,6 +10,7 @@ import {
   RequestStatus,
   Task,
   TaskAssignment,
+  TaskCandidate,
   AssignmentStatus,
   Employee,
   UserRole,
@@ -221,21 +223,108 @@ export async function listChats(token: string): Promise<ChatRoom[]> {
   return response.json();
 }
 
-export async function listMessages(
-  chatId: string,
-  token: string
-): Promise<ChatMessage[]> {
-  const response = await fetch(`${API_BASE_URL}/api/chats/${chatId}/messages`, {
+/**
+ * Inbox in einem Request: letzte Nachricht + Unread-Count pro Chat.
+ */
+export async function listChatSummaries(token: string): Promise<ChatSummary[]> {
+  const response = await fetch(`${API_BASE_URL}/api/chats/summary`, {
     headers: {
       "Content-Type": "application/json",
       ...authHeader(token),
     },
   });
 
+  if (!response.ok) {
+    throw new Error(`Chat summary fetch failed (${response.status})`);
+  }
+
+  return response.json();
+}
+
+export async function markChatReadApi(chatId: string, token: string) {
+  const response = await fetch(`${API_BASE_URL}/api/chats/${chatId}/read`, {
+    method: "POST",
+    headers: authHeader(token),
+  });
+
+  if (!response.ok) {
+    throw new Error(`Mark read failed (${response.status})`);
+  }
+}
+
+/**
+ * Laedt eine Seite des Verlaufs (aufsteigend sortiert).
+ * Ohne `before` die neuesten Nachrichten, sonst die Nachrichten davor.
+ */
+export async function listMessages(
+  chatId: string,
+  token: string,
+  before?: string,
+  limit?: number
+): Promise<ChatMessage[]> {
+  const params = new URLSearchParams();
+  if (before) params.set("before", before);
+  if (limit) params.set("limit", String(limit));
+  const query = params.toString() ? `?${params.toString()}` : "";
+  const response = await fetch(
+    `${API_BASE_URL}/api/chats/${chatId}/messages${query}`,
+    {
+      headers: {
+        "Content-Type": "application/json",
+        ...authHeader(token),
+      },
+    }
+  );
+
+  if (!response.ok) {
+    throw new Error(`Messages fetch failed (${response.status})`);
+  }
+
+  return response.json();
+}
+
+export type MessageDelta = {
+  messages: ChatMessage[];
+  cursor: string | null;
+  hasMore: boolean;
+};
+
+// letzter ETag pro Chat, damit unveraenderte Polls mit 304 beantwortet werden
+const messageEtags = new Map<string, string>();
+
+/**
+ * Laedt nur Nachrichten nach `after` (Message-ID).
+ * Gibt `null` zurueck, wenn sich nichts geaendert hat (304).
+ */
+export async function listMessagesSince(
+  chatId: string,
+  token: string,
+  after?: string
+): Promise<MessageDelta | null> {
+  const query = after ? `?after=${encodeURIComponent(after)}` : "";
+  const etag = messageEtags.get(chatId);
+  const response = await fetch(
+    `${API_BASE_URL}/api/chats/${chatId}/messages/since${query}`,
+    {
+      headers: {
+        "Content-Type": "application/json",
+        ...authHeader(token),
+        ...(etag ? { "If-None-Match": etag } : {}),
+      },
+    }
+  );
+
+  if (response.status === 304) {
+    return null;
+  }
   if (!response.ok) {
     throw new Error(`Messages fetch failed (${response.status})`);
   }
 
+  const nextEtag = response.headers.get("ETag");
+  if (nextEtag) {
+    messageEtags.set(chatId, nextEtag);
+  }
   return response.json();
 }
 
@@ -293,10 +382,20 @@ export async function sendChatMessageApi(
 // Calendar
 // ============================
 
+// ISO-Zeitpunkte (ohne Zone), z. B. Monatsansicht: from = Monatsanfang, to = naechster Monatsanfang
+export type CalendarRange = { from: string; to: string };
+
+function calendarRangeQuery(range?: CalendarRange): string {
+  if (!range) return "";
+  const params = new URLSearchParams({ from: range.from, to: range.to });
+  return `?${params.toString()}`;
+}
+
 export async function fetchMyCalendarEvents(
-  token: string
+  token: string,
+  range?: CalendarRange
 ): Promise<CalendarEvent[]> {
-  const response = await fetch(`${API_BASE_URL}/api/calendar/me`, {
+  const response = await fetch(`${API_BASE_URL}/api/calendar/me${calendarRangeQuery(range)}`, {
     headers: {
       "Content-Type": "application/json",
       ...authHeader(token),
@@ -311,9 +410,10 @@ export async function fetchMyCalendarEvents(
 }
 
 export async function fetchManagerCalendarEvents(
-  token: string
+  token: string,
+  range?: CalendarRange
 ): Promise<CalendarEvent[]> {
-  const response = await fetch(`${API_BASE_URL}/api/calendar/manager`, {
+  const response = await fetch(`${API_BASE_URL}/api/calendar/manager${calendarRangeQuery(range)}`, {
     headers: {
       "Content-Type": "application/json",
       ...authHeader(token),
@@ -375,6 +475,29 @@ export async function fetchTasksForManager(
   return response.json();
 }
 
+// Rangliste aus dem Backend: freie Mitarbeiter zuerst, dann nach Stundensatz
+export async function fetchTaskCandidates(
+  taskId: string,
+  token: string,
+  limit = 20
+): Promise<TaskCandidate[]> {
+  const response = await fetch(
+    `${API_BASE_URL}/api/tasks/${taskId}/candidates?limit=${limit}`,
+    {
+      headers: {
+        "Content-Type": "application/json",
+        ...authHeader(token),
+      },
+    }
+  );
+
+  if (!response.ok) {
+    throw new Error(`Candidates fetch failed (${response.status})`);
+  }
+
+  return response.json();
+}
+
 export async function assignEmployeeToTask(
   payload: { taskId: string; employeeId: string; status?: AssignmentStatus },
   token: string
@@ -400,6 +523,32 @@ export async function assignEmployeeToTask(
   return response.json();
 }
 
+// Mehrere Mitarbeiter in einer Transaktion anfragen
+export async function assignEmployeesToTask(
+  payload: { taskId: string; employeeIds: string[]; status?: AssignmentStatus },
+  token: string
+): Promise<TaskAssignment[]> {
+  const response = await fetch(`${API_BASE_URL}/api/task-assignments/batch`, {
+    method: "POST",
+    headers: {
+      "Content-Type": "application/json",
+      ...authHeader(token),
+    },
+    body: JSON.stringify(payload),
+  });
+
+  if (!response.ok) {
+    const errorBody = await response.text();
+    throw new Error(
+      `Assignment create failed (${response.status}) - ${
+        errorBody || ""
+      }`.trim()
+    );
+  }
+
+  return response.json();
+}
+
 export async function fetchAssignmentsForTask(
   taskId: string,
   token: string
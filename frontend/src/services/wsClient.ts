@@ -2,6 +2,12 @@ const API_BASE_URL = process.env.EXPO_PUBLIC_BACKEND_URL || "";
 
 type SubscriptionCallback = (payload: any) => void;
 
+// Interne Subscription fuer Steuer-Events des Eventstroms (sync / resync)
+const EVENTS_SUBSCRIPTION_ID = "sub-events";
+const MAX_REMEMBERED_SEQS = 500;
+// "tippt" hoechstens so oft senden; der Server laesst den Status nach 5 s verfallen
+const TYPING_THROTTLE_MS = 2000;
+
 export type Subscription = {
   id: string;
   unsubscribe: () => void;
@@ -26,6 +32,14 @@ class WebSocketManager {
   private connected = false;
   private reconnectAttempts = 0;
 
+  // Letzte vom Server vergebene Event-Nummer (-1 = noch unbekannt)
+  private lastSeq = -1;
+  // Bereits verarbeitete Frames (subscriptionId:seq), damit Nachlieferungen nicht doppelt ankommen
+  private seenSeqs: Set<string> = new Set();
+  private resyncListeners: Set<() => void> = new Set();
+  // chatId -> Zeitpunkt des letzten gesendeten typing=true
+  private typingSentAt: Map<string, number> = new Map();
+
   public isConnected() {
     return this.connected;
   }
@@ -43,6 +57,13 @@ class WebSocketManager {
   connect(token: string) {
     this.token = token;
 
+    if (!this.subscriptions.has(EVENTS_SUBSCRIPTION_ID)) {
+      this.subscriptions.set(EVENTS_SUBSCRIPTION_ID, {
+        cb: (payload) => this.handleStreamControl(payload),
+        destination: "/user/queue/events",
+      });
+    }
+
     const wsUrl = API_BASE_URL.replace(/^http/, "ws") + "/ws";
     this.ws = new WebSocket(wsUrl);
 
@@ -64,10 +85,20 @@ class WebSocketManager {
 
       // Alle Subscriptions erneut anmelden
       this.resubscribeAll();
+
+      // Verpasste Events seit der letzten seq nachliefern lassen
+      // (Server verarbeitet die Frames in Reihenfolge, die Subscriptions stehen also schon)
+      this.sendFrame(
+        "SEND",
+        { destination: "/app/events/resume", "content-type": "application/json" },
+        JSON.stringify({ lastSeq: this.lastSeq })
+      );
     };
 
     this.ws.onclose = () => {
       this.connected = false;
+      // Server hat den Tipp-Status mit der Session verworfen
+      this.typingSentAt.clear();
       this.scheduleReconnect();
     };
 
@@ -85,6 +116,12 @@ class WebSocketManager {
         const subId = frame.headers.subscription;
         const meta = this.subscriptions.get(subId);
 
+        const seq = frame.headers.seq;
+        if (seq !== undefined) {
+          if (!this.rememberSeq(`${subId}:${seq}`)) return;
+          this.lastSeq = Math.max(this.lastSeq, Number(seq));
+        }
+
         if (meta && frame.body) {
           try {
             const json = JSON.parse(frame.body);
@@ -119,6 +156,17 @@ class WebSocketManager {
     };
   }
 
+  /**
+   * Listener fuer "resync": der Server konnte verpasste Events nicht mehr nachliefern,
+   * der Client muss seinen Stand einmal per REST neu laden.
+   */
+  onResync(cb: () => void) {
+    this.resyncListeners.add(cb);
+    return () => {
+      this.resyncListeners.delete(cb);
+    };
+  }
+
   /**
    * Nachrichten senden
    */
@@ -127,6 +175,33 @@ class WebSocketManager {
     this.sendFrame("SEND", { destination }, JSON.stringify(body));
   }
 
+  /**
+   * Tipp-Status melden (gedrosselt): typing=true nur alle TYPING_THROTTLE_MS,
+   * typing=false nur, wenn vorher "tippt" gemeldet wurde
+   */
+  sendTyping(chatId: string, typing: boolean) {
+    if (!this.connected) return;
+    const now = Date.now();
+    const lastSent = this.typingSentAt.get(chatId);
+
+    if (typing) {
+      if (lastSent !== undefined && now - lastSent < TYPING_THROTTLE_MS) return;
+      this.typingSentAt.set(chatId, now);
+    } else {
+      if (lastSent === undefined) return;
+      this.typingSentAt.delete(chatId);
+    }
+
+    this.sendFrame(
+      "SEND",
+      {
+        destination: `/app/chats/${chatId}/typing`,
+        "content-type": "application/json",
+      },
+      JSON.stringify({ typing })
+    );
+  }
+
   /**
    * STOMP Frame senden
    */
@@ -187,6 +262,35 @@ class WebSocketManager {
     }
   }
 
+  /**
+   * Steuer-Events des Eventstroms
+   */
+  private handleStreamControl(payload: { type?: string; seq?: number }) {
+    if (typeof payload?.seq !== "number") return;
+
+    if (payload.type === "sync") {
+      if (this.lastSeq < 0) this.lastSeq = payload.seq;
+    } else if (payload.type === "resync") {
+      this.lastSeq = payload.seq;
+      this.seenSeqs.clear();
+      this.resyncListeners.forEach((cb) => cb());
+    }
+  }
+
+  /**
+   * Merkt sich einen Frame; false, wenn er schon verarbeitet wurde
+   */
+  private rememberSeq(key: string) {
+    if (this.seenSeqs.has(key)) return false;
+    this.seenSeqs.add(key);
+    if (this.seenSeqs.size > MAX_REMEMBERED_SEQS) {
+      // Set behaelt die Einfuegereihenfolge -> aeltesten Eintrag verwerfen
+      const oldest = this.seenSeqs.values().next().value;
+      if (oldest !== undefined) this.seenSeqs.delete(oldest);
+    }
+    return true;
+  }
+
   /**
    * Verbindung hart schließen und geplante Reconnects stoppen (z. B. Logout)
    */
@@ -211,6 +315,9 @@ class WebSocketManager {
     this.token = null;
     this.subscriptions.clear();
     this.reconnectAttempts = 0;
+    this.lastSeq = -1;
+    this.seenSeqs.clear();
+    this.typingSentAt.clear();
   }
 
   /**
@@ -297,6 +404,39 @@ export function subscribeUserAssignments(
   }
 }
 
+/**
+ * Online-/Tipp-Stand pro Chat; kommt gebuendelt (hoechstens alle paar hundert ms pro Chat).
+ * Nach jedem (Re-)Subscribe schickt der Server den aktuellen Stand aller eigenen Chats.
+ */
+export function subscribeChatPresence(
+  token: string,
+  onPresence: (payload: any) => void,
+  onError?: () => void
+) {
+  try {
+    ensureConnected(token);
+    const sub = manager.subscribe(`/user/queue/presence`, onPresence);
+    return {
+      disconnect: () => sub.unsubscribe(),
+    };
+  } catch (err) {
+    onError?.();
+    return { disconnect: () => {} };
+  }
+}
+
+export function sendTyping(chatId: string, typing: boolean) {
+  manager.sendTyping(chatId, typing);
+}
+
+/**
+ * Wird aufgerufen, wenn verpasste Events nicht nachgeliefert werden konnten.
+ * Gibt eine Funktion zum Abmelden zurück.
+ */
+export function onEventStreamResync(cb: () => void) {
+  return manager.onResync(cb);
+}
+
 export const wsClient = WebSocketManager.getInstance();
 export const disconnectWebSocket = () => {
   manager.disconnect();
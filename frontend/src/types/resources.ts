@@ -84,9 +84,28 @@ export type ChatRoom = {
   memberIds: string[];
   createdAt: string;
   lastMessagePreview?: string;
+  lastMessageAt?: string | null;
   updatedAt?: string;
 };
 
+// Presence-Stand eines Chats (live ueber /user/queue/presence)
+export type ChatPresence = {
+  chatId: string;
+  online: string[];
+  typing: string[];
+};
+
+export type ChatSummary = {
+  chatId: string;
+  name: string;
+  type: ChatType;
+  lastMessageId?: string | null;
+  lastMessagePreview?: string | null;
+  lastMessageSenderId?: string | null;
+  lastMessageAt?: string | null;
+  unreadCount: number;
+};
+
 export type ChatMessage = {
   id: string;
   chatId: string;
@@ -107,6 +126,17 @@ export type Task = {
   responseDeadline?: string | null;
 };
 
+export type TaskCandidate = {
+  employeeId: string;
+  firstName: string;
+  lastName: string;
+  hourlyRate?: number | null;
+  available: boolean;
+  free: boolean;
+  onLeave: boolean;
+  conflictCount: number;
+};
+
 export type TaskAssignment = {
   id: string;
   taskId: string;